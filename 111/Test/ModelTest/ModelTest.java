@@ -1,8 +1,47 @@
 package ModelTest;
 
+import Cli.BatchSolver;
+import Model.GameEvent;
+import Model.GameEventBus;
+import Model.GameState;
 import Model.Model;
+import Model.MoveJournal;
+import Model.PathCache;
+import Model.PathFinder;
+import Model.PuzzleGenerator;
+import Model.SearchMode;
+import Model.WordGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import server.GameServer;
+import server.Json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -83,4 +122,573 @@ class ModelTest {
         // Assert that the move history is empty after the game is restarted
         assertTrue(model.getMoveHistory().isEmpty());
     }
+
+    /**
+     * Scene 4: Tests the path finder.
+     *
+     * Verifies that a path between two dictionary words:
+     * - Starts at the start word and ends at the target word.
+     * - Changes exactly one letter at every step.
+     */
+    @Test
+    void testFindPath() {
+        List<String> path = model.findPath("wast", "west");
+
+        // Assert that the shortest path is a single step
+        assertEquals(List.of("wast", "west"), path);
+
+        path = model.findPath("cold", "warm");
+        assertNotNull(path);
+        assertEquals("cold", path.get(0));
+        assertEquals("warm", path.get(path.size() - 1));
+        for (int i = 1; i < path.size(); i++) {
+            int diff = 0;
+            for (int j = 0; j < 4; j++) {
+                if (path.get(i).charAt(j) != path.get(i - 1).charAt(j)) diff++;
+            }
+            assertEquals(1, diff);
+        }
+    }
+
+    /**
+     * Scene 5: Tests that every search mode agrees on the shortest path length.
+     */
+    @Test
+    void testSearchModesAgree() {
+        String[][] pairs = {{"cold", "warm"}, {"wast", "west"}, {"ruby", "code"}, {"cold", "ahoy"}};
+        for (String[] pair : pairs) {
+            model.setSearchMode(SearchMode.BFS);
+            List<String> expected = model.findPath(pair[0], pair[1]);
+            for (SearchMode mode : SearchMode.values()) {
+                model.setSearchMode(mode);
+                List<String> path = model.findPath(pair[0], pair[1]);
+                if (expected == null) {
+                    assertNull(path);
+                } else {
+                    assertEquals(expected.size(), path.size(), mode + " " + pair[0] + "->" + pair[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scene 6: Tests that random puzzles are always solvable.
+     *
+     * Verifies that repeatedly generated start and target words are connected by a ladder
+     * whose length lies in the generator's default range.
+     */
+    @Test
+    void testRandomWordsAreSolvable() {
+        for (int i = 0; i < 20; i++) {
+            model.setRandomWords(true);
+            List<String> path = model.findPath(model.getStartWord(), model.getTargetWord());
+            assertNotNull(path);
+            assertTrue(path.size() - 1 >= PuzzleGenerator.DEFAULT_MIN_LENGTH);
+            assertTrue(path.size() - 1 <= PuzzleGenerator.DEFAULT_MAX_LENGTH);
+        }
+    }
+
+    /**
+     * Scene 7: Tests move feedback and hints from the per-game distance table.
+     *
+     * Verifies that:
+     * - The hint path starts at the player's current word.
+     * - An optimal move is reported as such and reduces the moves remaining.
+     */
+    @Test
+    void testDistanceTableFeedback() {
+        model.setRandomWords(false); // WAST -> WEST
+        model.setTargetWord("cold");
+
+        int remaining = model.getMovesRemaining();
+        List<String> hint = model.getHintPath();
+        assertEquals(remaining + 1, hint.size());
+        assertEquals("wast", hint.get(0));
+        assertEquals("cold", hint.get(hint.size() - 1));
+
+        assertTrue(model.makeMove(model.getNextMoveHint()));
+        assertTrue(model.isLastMoveOptimal());
+        assertEquals(remaining - 1, model.getMovesRemaining());
+        assertEquals(model.getpreviousword(), model.getHintPath().get(0));
+    }
+
+    /**
+     * Scene 8: Tests that models on the same dictionary share one loaded word graph.
+     */
+    @Test
+    void testDictionaryIsShared() {
+        Model other = new Model("dictionary.txt");
+        assertSame(model.getDictionary(), other.getDictionary());
+    }
+
+    /**
+     * Scene 9: Tests that a compiled, memory-mapped graph file plays like the text dictionary.
+     */
+    @Test
+    void testGraphFile(@TempDir Path directory) throws IOException {
+        Path graphFile = directory.resolve("dictionary" + WordGraph.GRAPH_FILE_EXTENSION);
+        model.getDictionary().write(graphFile);
+
+        Model mapped = new Model(graphFile.toString());
+        assertEquals(model.getDictionary().size(), mapped.getDictionary().size());
+        assertEquals(model.findPath("cold", "warm").size(), mapped.findPath("cold", "warm").size());
+        assertNull(mapped.findPath("cold", "ahoy"));
+
+        Path corrupt = directory.resolve("corrupt" + WordGraph.GRAPH_FILE_EXTENSION);
+        byte[] bytes = Files.readAllBytes(graphFile);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - 4, Integer.MAX_VALUE); // last component member out of range
+        Files.write(corrupt, bytes);
+        assertThrows(IOException.class, () -> WordGraph.map(corrupt));
+    }
+
+    /**
+     * Scene 10: Tests a model whose dictionary is loaded later, as the GUI does on a background thread.
+     */
+    @Test
+    void testDeferredLoading() {
+        Model deferred = new Model("dictionary.txt", true);
+        assertFalse(deferred.isLoaded());
+        assertFalse(deferred.makeMove("cold"));
+        assertNull(deferred.getHintPath());
+
+        deferred.setDictionary(model.getDictionary());
+        assertTrue(deferred.isLoaded());
+        assertNotNull(deferred.getStartWord());
+        assertNotNull(deferred.getHintPath());
+    }
+
+    /**
+     * Scene 11: Tests that a search on an interrupted thread is cancelled instead of running to completion.
+     */
+    @Test
+    void testSearchCancellation() {
+        WordGraph graph = model.getDictionary();
+        PathFinder pathFinder = new PathFinder(graph);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class,
+                    () -> pathFinder.findPath(graph.indexOf("cold"), graph.indexOf("warm"), SearchMode.BFS));
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertNotNull(pathFinder.findPath(graph.indexOf("cold"), graph.indexOf("warm"), SearchMode.BFS));
+    }
+
+    /**
+     * Scene 12: Tests that prefetched hints always follow the current position, including after undo.
+     */
+    @Test
+    void testPrefetchedHintFollowsPosition() {
+        String start = model.getStartWord().toLowerCase();
+        assertTrue(model.makeMove(model.getNextMoveHint()));
+        List<String> hint = model.getHintPath();
+        assertEquals(model.getpreviousword(), hint.get(0));
+        assertEquals(model.getMovesRemaining() + 1, hint.size());
+
+        model.undoMove();
+        hint = model.getHintPath();
+        assertEquals(start, hint.get(0));
+        assertEquals(model.getMovesRemaining() + 1, hint.size());
+    }
+
+    /**
+     * Scene 13: Tests that repeated path requests, in either direction, are served from the path cache.
+     */
+    @Test
+    void testPathCache() {
+        PathCache cache = model.getDictionary().pathCache();
+        cache.clear();
+        List<String> path = model.findPath("cold", "warm");
+        long hits = cache.getHits();
+
+        assertEquals(path, model.findPath("cold", "warm"));
+        List<String> reversed = model.findPath("warm", "cold");
+        assertEquals(path.size(), reversed.size());
+        assertEquals("warm", reversed.get(0));
+        assertNull(model.findPath("cold", "ahoy"));
+        assertNull(model.findPath("cold", "ahoy"));
+        assertEquals(hits + 3, cache.getHits());
+    }
+
+    /**
+     * Scene 14: Tests that game events are typed and that one player action raises one NEW_GAME event.
+     */
+    @Test
+    void testGameEventsCoalesce() throws InterruptedException {
+        List<GameEvent.Type> received = new ArrayList<>();
+        CountDownLatch asyncDelivered = new CountDownLatch(1);
+        model.addGameEventListener(event -> received.add(event.getType()), GameEventBus.Delivery.SYNC);
+        model.addGameEventListener(event -> asyncDelivered.countDown(), GameEventBus.Delivery.ASYNC);
+
+        model.setRandomWords(true);
+        assertEquals(List.of(GameEvent.Type.NEW_GAME), received);
+
+        received.clear();
+        model.batch(() -> {
+            model.setRandomWords(true);
+            model.restartGame();
+        });
+        assertEquals(List.of(GameEvent.Type.NEW_GAME), received);
+
+        received.clear();
+        model.makeMove(model.getStartWord());
+        assertEquals(List.of(GameEvent.Type.NO_CHANGE), received);
+        assertTrue(asyncDelivered.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Scene 15: Tests that state snapshots are immutable and that racing moves from one position apply once.
+     */
+    @Test
+    void testStateSnapshotsUnderConcurrentMoves() throws Exception {
+        GameState before = model.getState();
+        String move = model.getNextMoveHint();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> model.makeMove(move)));
+        }
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) accepted++;
+        }
+        pool.shutdown();
+
+        assertEquals(1, accepted);
+        assertEquals(List.of(move), model.getMoveHistory());
+        assertTrue(before.getMoveHistory().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> model.getMoveHistory().add("cold"));
+    }
+
+    /**
+     * Scene 16: Tests that undone moves can be redone, that old snapshots keep their history,
+     * and that a different move or a new start word discards the redo history.
+     */
+    @Test
+    void testUndoRedoHistory() {
+        model.setStartWord("cold");
+        model.setTargetWord("warm");
+        assertTrue(model.makeMove("cord"));
+        assertTrue(model.makeMove("card"));
+        GameState twoMoves = model.getState();
+
+        model.undoMove();
+        model.undoMove();
+        assertTrue(model.getMoveHistory().isEmpty());
+        assertEquals(List.of("cord", "card"), twoMoves.getMoveHistory());
+
+        assertTrue(model.redoMove());
+        assertEquals(List.of("cord"), model.getMoveHistory());
+        assertTrue(model.getState().canRedo());
+
+        assertTrue(model.makeMove("word"));
+        assertEquals(List.of("cord", "word"), model.getMoveHistory());
+        assertFalse(model.getState().canRedo());
+        assertFalse(model.redoMove());
+        assertEquals(List.of("cord", "card"), twoMoves.getMoveHistory());
+
+        model.undoMove();
+        model.undoMove();
+        assertTrue(model.getState().canRedo());
+        model.setStartWord("warm");
+        assertFalse(model.getState().canRedo());
+        assertFalse(model.redoMove());
+        assertTrue(model.getMoveHistory().isEmpty());
+    }
+
+    /**
+     * Scene 17: Tests that the game server plays independent sessions over HTTP and drops idle ones.
+     */
+    @Test
+    void testGameServerSessions(@TempDir Path dir) throws Exception {
+        AtomicLong now = new AtomicLong(1_000);
+        MoveJournal journal = MoveJournal.open(dir.resolve("server.journal"));
+        GameServer server = GameServer.start("dictionary.txt", 0, TimeUnit.MINUTES.toMillis(5), now::get, journal);
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + server.getPort() + "/sessions";
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, created.statusCode());
+            String id = Json.string(created.body(), "session");
+            assertNotNull(id);
+
+            HttpResponse<String> path = client.send(HttpRequest.newBuilder(URI.create(base + "/" + id + "/path")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, path.statusCode());
+            List<String> ladder = Json.strings(path.body(), "path");
+            assertEquals(Json.string(created.body(), "position"), ladder.get(0));
+            String next = ladder.get(1);
+            HttpResponse<String> moved = client.send(HttpRequest.newBuilder(URI.create(base + "/" + id + "/move?word=" + next))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(List.of(next), Json.strings(moved.body(), "moves"), moved.body());
+            assertTrue(Json.bool(moved.body(), "accepted"));
+            assertEquals(2, journal.getRecordCount()); // the new game and the move, on disk before the replies
+
+            HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(base + "/nobody")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(404, missing.statusCode());
+
+            assertEquals(1, server.getSessionCount());
+            now.addAndGet(TimeUnit.MINUTES.toMillis(5));
+            assertEquals(0, server.expireSessions());
+            now.incrementAndGet();
+            assertEquals(1, server.expireSessions());
+            assertEquals(0, server.getSessionCount());
+        } finally {
+            server.stop();
+            journal.close();
+        }
+    }
+
+    /**
+     * Scene 18: Tests that concurrent requests for the same pair, in either direction, share one search.
+     */
+    @Test
+    void testConcurrentPathRequestsCoalesce() throws Exception {
+        PathCache cache = new PathCache(16);
+        AtomicInteger searches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PathCache.Search slowSearch = (start, target) -> {
+            searches.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return start < target ? new int[]{1, 2, 3} : new int[]{3, 2, 1};
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<int[]>> forward = new ArrayList<>();
+        List<Future<int[]>> backward = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            forward.add(pool.submit(() -> cache.computeIfAbsent(1, 3, slowSearch)));
+            backward.add(pool.submit(() -> cache.computeIfAbsent(3, 1, slowSearch)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (int i = 0; i < 4; i++) {
+            assertArrayEquals(new int[]{1, 2, 3}, forward.get(i).get());
+            assertArrayEquals(new int[]{3, 2, 1}, backward.get(i).get());
+        }
+        pool.shutdown();
+
+        assertEquals(1, searches.get());
+        assertEquals(7, cache.getCoalesced());
+        assertArrayEquals(new int[]{3, 2, 1}, cache.computeIfAbsent(3, 1, slowSearch));
+        assertEquals(1, searches.get());
+    }
+
+    /**
+     * Scene 19: Tests that the move journal rebuilds a game after a restart and survives a torn last record.
+     */
+    @Test
+    void testMoveJournalResume(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("moves.journal");
+        MoveJournal journal = MoveJournal.open(file);
+        assertFalse(model.resume(journal, 7));
+        model.setStartWord("cold");
+        model.setTargetWord("warm");
+        model.makeMove("cord");
+        model.makeMove("card");
+        model.makeMove("ward");
+        model.undoMove();
+        journal.sync();
+        journal.close();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 7, 3})); // a record cut short by a crash
+        }
+
+        MoveJournal reopened = MoveJournal.open(file);
+        Model resumed = new Model("dictionary.txt");
+        assertTrue(resumed.resume(reopened, 7));
+        assertEquals("cold", resumed.getStartWord());
+        assertEquals("warm", resumed.getTargetWord());
+        assertEquals(List.of("cord", "card"), resumed.getMoveHistory());
+        assertTrue(resumed.redoMove());
+        assertEquals(List.of("cord", "card", "ward"), resumed.getMoveHistory());
+        Model unrecorded = new Model("dictionary.txt");
+        unrecorded.resume(reopened, 8);
+        unrecorded.setStartWord("co1d"); // cannot be encoded, so the game cannot be rebuilt as it was
+        reopened.sync();
+        assertTrue(reopened.getSyncCount() <= reopened.getRecordCount());
+        reopened.close();
+
+        assertEquals(8 + 16 * reopened.getRecordCount(), Files.size(file));
+        MoveJournal again = MoveJournal.open(file);
+        assertFalse(new Model("dictionary.txt").resume(again, 8));
+        again.close();
+    }
+
+    /**
+     * Scene 20: Tests that many sessions prefetching and asking for the same hint share one search.
+     */
+    @Test
+    void testSessionsShareHintSearch() throws Exception {
+        WordGraph graph = WordGraph.fromWords(List.of("cold", "cord", "card", "ward", "warm", "bake", "bike", "bite"));
+        // Random games can only be cold to warm; with that pair cached, nothing is searched while the sessions start
+        int[] ladder = {graph.indexOf("cold"), graph.indexOf("cord"), graph.indexOf("card"), graph.indexOf("ward"), graph.indexOf("warm")};
+        graph.pathCache().put(ladder[0], ladder[4], ladder);
+
+        List<Model> sessions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Model session = new Model(graph);
+            session.setHintPrefetch(false);
+            session.setTargetWord("bite");
+            session.setStartWord("bike");
+            session.setHintPrefetch(true);
+            sessions.add(session);
+        }
+        long searches = graph.pathCache().getSearches();
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<List<String>>> hints = new ArrayList<>();
+        for (Model session : sessions) {
+            hints.add(pool.submit(() -> {
+                go.await();
+                session.setStartWord("bake");
+                return session.getHintPath();
+            }));
+        }
+        go.countDown();
+        for (Future<List<String>> hint : hints) {
+            assertEquals(List.of("bake", "bike", "bite"), hint.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, graph.pathCache().getSearches() - searches);
+    }
+
+    /**
+     * Scene 21: Tests that the move journal compacts itself down to the games that can still be resumed.
+     */
+    @Test
+    void testMoveJournalCompaction(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("moves.journal");
+        MoveJournal journal = MoveJournal.open(file);
+        model.resume(journal, 1);
+        model.setStartWord("cold");
+        model.setTargetWord("warm");
+        for (int i = 0; i < 3000; i++) {
+            model.makeMove("cord");
+            model.restartGame();
+        }
+        model.makeMove("cord");
+        model.makeMove("card");
+
+        Model ended = new Model("dictionary.txt");
+        ended.resume(journal, 2);
+        ended.makeMove(ended.getHintPath().get(1));
+        ended.detachJournal();
+        journal.sync();
+        journal.close();
+
+        assertTrue(journal.getCompactionCount() > 0);
+        assertTrue(journal.getRecordCount() < 3000, "records left: " + journal.getRecordCount());
+        assertEquals(8 + 16 * journal.getRecordCount(), Files.size(file));
+
+        MoveJournal reopened = MoveJournal.open(file);
+        assertEquals(Set.of(1), reopened.getRecoveredGames());
+        Model resumed = new Model("dictionary.txt");
+        assertTrue(resumed.resume(reopened, 1));
+        assertEquals("cold", resumed.getStartWord());
+        assertEquals(List.of("cord", "card"), resumed.getMoveHistory());
+        reopened.close();
+    }
+
+    /**
+     * Scene 22: Tests that puzzle generation depends only on the seed and that puzzle files read back unchanged.
+     */
+    @Test
+    void testPuzzleGeneratorSeedAndFile(@TempDir Path dir) throws IOException {
+        WordGraph graph = model.getDictionary();
+        PuzzleGenerator generator = new PuzzleGenerator(graph, PuzzleGenerator.DEFAULT_MIN_LENGTH, PuzzleGenerator.DEFAULT_MAX_LENGTH);
+        List<PuzzleGenerator.Puzzle> puzzles = generator.generate(500, 42);
+        assertEquals(puzzles, generator.generate(500, 42));
+        assertNotEquals(puzzles, generator.generate(500, 43));
+
+        Path file = dir.resolve("puzzles.bin");
+        generator.writeTo(file, 300, 7);
+        List<PuzzleGenerator.Puzzle> read = PuzzleGenerator.readFrom(file);
+        assertEquals(300, read.size());
+        Path again = dir.resolve("again.bin");
+        generator.writeTo(again, 300, 7);
+        assertEquals(read, PuzzleGenerator.readFrom(again));
+        for (PuzzleGenerator.Puzzle puzzle : read.subList(0, 20)) {
+            List<String> path = model.findPath(puzzle.getStartWord(), puzzle.getTargetWord());
+            assertEquals(puzzle.getLength(), path.size() - 1, puzzle.toString());
+        }
+
+        PuzzleGenerator tooLong = new PuzzleGenerator(graph, 1, PuzzleGenerator.MAX_FILE_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> tooLong.writeTo(dir.resolve("long.bin"), 1, 1));
+    }
+
+    /**
+     * Scene 23: Tests that the batch solver answers every pair, in either order, and rejects bad options.
+     */
+    @Test
+    void testBatchSolver() throws IOException {
+        StringBuilder pairs = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            pairs.append(i % 3 == 0 ? "cold warm\n" : i % 3 == 1 ? "xxxx warm\n" : "warm card\n");
+        }
+        byte[] input = pairs.toString().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream inOrder = new ByteArrayOutputStream();
+        assertEquals(0, BatchSolver.run(new String[]{"--batch", "--mode=BFS"}, "dictionary.txt",
+                new ByteArrayInputStream(input), inOrder, System.err));
+        List<String> lines = List.of(inOrder.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(3000, lines.size());
+        assertTrue(lines.get(0).startsWith("cold warm 4 cold,"), lines.get(0));
+        assertEquals("xxxx warm invalid", lines.get(1));
+        assertTrue(lines.get(2).startsWith("warm card 2 warm,"), lines.get(2));
+
+        ByteArrayOutputStream completion = new ByteArrayOutputStream();
+        assertEquals(0, BatchSolver.run(new String[]{"--batch", "--order=completion"}, "dictionary.txt",
+                new ByteArrayInputStream(input), completion, System.err));
+        List<String> unordered = List.of(completion.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(3000, unordered.size());
+        assertEquals(1000, unordered.stream().filter(line -> line.startsWith("cold warm 4 ")).count());
+        assertEquals(1000, unordered.stream().filter("xxxx warm invalid"::equals).count());
+
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        PrintStream err = new PrintStream(errors, true, StandardCharsets.UTF_8);
+        ByteArrayOutputStream none = new ByteArrayOutputStream();
+        assertEquals(BatchSolver.EXIT_USAGE, BatchSolver.run(new String[]{"--batch", "--mode=foo"}, "dictionary.txt",
+                new ByteArrayInputStream(input), none, err));
+        assertEquals(BatchSolver.EXIT_USAGE, BatchSolver.run(new String[]{"--batch", "--order=random"}, "dictionary.txt",
+                new ByteArrayInputStream(input), none, err));
+        assertEquals(0, none.size());
+        assertTrue(errors.toString(StandardCharsets.UTF_8).contains("Unknown search mode: foo"));
+        assertTrue(errors.toString(StandardCharsets.UTF_8).contains("Usage:"));
+    }
+
+    /**
+     * Scene 24: Tests that a random game is always found when only one ladder hides among many lone words.
+     */
+    @Test
+    void testRandomGameAmongSingletons(@TempDir Path dir) throws IOException {
+        List<String> words = new ArrayList<>();
+        for (int a = 0; a < 26; a++) {
+            for (int b = 0; b < 26; b++) {
+                // Any two of these words differ in at least two letters, so each is alone in its component
+                words.add("" + (char) ('a' + a) + (char) ('a' + b) + (char) ('a' + (a + b) % 26) + (char) ('a' + (a + 3 * b) % 26));
+            }
+        }
+        words.add("yzzy");
+        words.add("yzzz");
+        Path dictionary = dir.resolve("sparse.txt");
+        Files.write(dictionary, words);
+
+        Model sparse = new Model(dictionary.toString());
+        assertEquals(words.size() - 1, sparse.getDictionary().componentCount());
+        for (int i = 0; i < 50; i++) {
+            sparse.setRandomWords(true);
+            assertEquals(Set.of("yzzy", "yzzz"), Set.of(sparse.getStartWord(), sparse.getTargetWord()));
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark in this module with the GC profiler, reporting throughput and allocation rate
+ * (the equivalent of "-prof gc"). Run from the 111 directory so the bundled dictionary.txt is found,
+ * or pass -Dweaver.dictionary=path. An optional argument restricts the run to matching benchmarks.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "bench\\..*")
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Dweaver.dictionary=" + System.getProperty("weaver.dictionary", "dictionary.txt"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,49 @@
+package bench;
+
+import Model.WordCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Resolves the dictionary a benchmark runs against: "bundled" is the game's dictionary.txt,
+ * a number is a synthetic dictionary of that many random four-letter words.
+ */
+final class Dictionaries {
+
+    static final String BUNDLED = "bundled";
+    private static final long SEED = 20240501L;
+
+    private Dictionaries() {
+    }
+
+    /**
+     * @param name "bundled" or a word count
+     * @post Returns a path to a dictionary file; synthetic dictionaries are written to a temporary file
+     * @return dictionary file
+     * @throws IOException if the synthetic dictionary cannot be written
+     */
+    static Path resolve(String name) throws IOException {
+        if (BUNDLED.equals(name)) {
+            return Paths.get(System.getProperty("weaver.dictionary", "dictionary.txt"));
+        }
+        int size = Math.min(Integer.parseInt(name), WordCodec.WORD_SPACE);
+        SplittableRandom random = new SplittableRandom(SEED);
+        TreeSet<String> words = new TreeSet<>();
+        char[] letters = new char[WordCodec.WORD_LENGTH];
+        while (words.size() < size) {
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = (char) ('a' + random.nextInt(WordCodec.ALPHABET_SIZE));
+            }
+            words.add(new String(letters));
+        }
+        Path file = Files.createTempFile("weaver-" + size + "-", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, words);
+        return file;
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import Model.Model;
+import Model.WordGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading a dictionary into a word graph, of memory-mapping the same graph from a compiled
+ * graph file, and of constructing a Model once the shared graph is already cached by the DictionaryRegistry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryLoadBenchmark {
+
+    @Param({Dictionaries.BUNDLED, "20000", "100000"})
+    public String dictionary;
+
+    private String dictionaryFile;
+    private Path dictionaryPath;
+    private Path graphPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        dictionaryPath = Dictionaries.resolve(dictionary);
+        dictionaryFile = dictionaryPath.toString();
+        graphPath = Files.createTempFile("weaver-", WordGraph.GRAPH_FILE_EXTENSION);
+        graphPath.toFile().deleteOnExit();
+        WordGraph.read(dictionaryPath).write(graphPath);
+    }
+
+    @Benchmark
+    public WordGraph mapGraphFile() throws IOException {
+        return WordGraph.map(graphPath);
+    }
+
+    @Benchmark
+    public WordGraph readDictionary() throws IOException {
+        return WordGraph.read(dictionaryPath);
+    }
+
+    @Benchmark
+    public Model construct() {
+        return new Model(dictionaryFile);
+    }
+}
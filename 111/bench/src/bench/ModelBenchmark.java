@@ -0,0 +1,138 @@
+package bench;
+
+import Model.Model;
+import Model.WordGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation costs of the game engine: moves, path finding, neighbor lookup and puzzle selection.
+ *
+ * <p>Word pairs are derived from the loaded graph: a short pair is a word and its first neighbor,
+ * a long pair is found by a double breadth-first sweep, and an unreachable pair spans two components
+ * (falling back to a word outside the dictionary when the graph is connected).</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelBenchmark {
+
+    @Param({Dictionaries.BUNDLED, "20000", "100000"})
+    public String dictionary;
+
+    private Model model;
+    private WordGraph graph;
+    private String shortStart;
+    private String shortTarget;
+    private String longStart;
+    private String longTarget;
+    private String unreachableTarget;
+    private String invalidMove;
+    private int neighborWord;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = Dictionaries.resolve(dictionary);
+        model = new Model(file.toString());
+        // Background hint searches would compete with the measured thread and leave cancelled work queued
+        model.setHintPrefetch(false);
+        graph = WordGraph.read(file);
+
+        int seed = 0;
+        while (graph.adjacencyStart(seed) == graph.adjacencyEnd(seed)) seed++;
+        neighborWord = seed;
+        shortStart = graph.word(seed);
+        shortTarget = graph.word(graph.adjacent(graph.adjacencyStart(seed)));
+
+        int far = farthest(graph.distancesFrom(seed));
+        longStart = graph.word(far);
+        longTarget = graph.word(farthest(graph.distancesFrom(far)));
+
+        unreachableTarget = "qqqq";
+        for (int id = 0; id < graph.size(); id++) {
+            if (!graph.connected(seed, id)) {
+                unreachableTarget = graph.word(id);
+                break;
+            }
+        }
+
+        model.setStartWord(shortStart);
+        model.setTargetWord(longTarget);
+        invalidMove = "q" + shortStart.substring(1);
+    }
+
+    private static int farthest(short[] distances) {
+        int best = 0;
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] > distances[best]) best = id;
+        }
+        return best;
+    }
+
+    @Benchmark
+    public boolean makeMoveValid() {
+        boolean accepted = model.makeMove(shortTarget);
+        model.undoMove();
+        return accepted;
+    }
+
+    @Benchmark
+    public boolean makeMoveInvalid() {
+        return model.makeMove(invalidMove);
+    }
+
+    // The solver benchmarks empty the path cache first so that every call searches
+    @Benchmark
+    public List<String> findPathShort() {
+        model.getDictionary().pathCache().clear();
+        return model.findPath(shortStart, shortTarget);
+    }
+
+    @Benchmark
+    public List<String> findPathLong() {
+        model.getDictionary().pathCache().clear();
+        return model.findPath(longStart, longTarget);
+    }
+
+    @Benchmark
+    public List<String> findPathUnreachable() {
+        model.getDictionary().pathCache().clear();
+        return model.findPath(shortStart, unreachableTarget);
+    }
+
+    @Benchmark
+    public List<String> findPathCached() {
+        return model.findPath(longStart, longTarget);
+    }
+
+    @Benchmark
+    public void getNeighbors(Blackhole blackhole) {
+        for (int k = graph.adjacencyStart(neighborWord); k < graph.adjacencyEnd(neighborWord); k++) {
+            blackhole.consume(graph.adjacent(k));
+        }
+    }
+
+    @Benchmark
+    public String setRandomWords() {
+        model.setRandomWords(true);
+        return model.getStartWord();
+    }
+}
@@ -0,0 +1,219 @@
+package Cli;
+
+import Model.PathFinder;
+import Model.SearchMode;
+import Model.WordGraph;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Non-interactive solver: reads "start target" pairs, one per line, and writes one result line per pair.
+ *
+ * <p>Pairs are solved in chunks on a work-stealing pool against one shared, immutable word graph.
+ * Each result line is "start target length word1,word2,...", with length -1 when no ladder exists
+ * and "invalid" when a word is not in the dictionary. Results are written in input order by default,
+ * or as soon as each chunk completes with --order=completion.</p>
+ */
+public class BatchSolver {
+
+    public static final int EXIT_USAGE = 2;
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final WordGraph graph;
+    private final PathFinder pathFinder;
+    private final SearchMode mode;
+    private final boolean inputOrder;
+
+    public BatchSolver(WordGraph graph, SearchMode mode, boolean inputOrder) {
+        this.graph = graph;
+        this.pathFinder = new PathFinder(graph);
+        this.mode = mode;
+        this.inputOrder = inputOrder;
+    }
+
+    /**
+     * Usage: WeaverCLI --batch [--dictionary=file] [--order=input|completion] [--mode=SEARCH_MODE] [pairs-file]
+     *
+     * @param args command-line arguments, starting with --batch
+     * @param defaultDictionary dictionary file used when --dictionary is not given
+     * @post Returns EXIT_USAGE after printing the usage to standard error if the arguments are invalid; otherwise
+     *       every pair has been solved onto standard output
+     * @return process exit status
+     * @throws IOException if the dictionary or the input cannot be read
+     */
+    public static int run(String[] args, String defaultDictionary) throws IOException {
+        return run(args, defaultDictionary, System.in, System.out, System.err);
+    }
+
+    /**
+     * @param args command-line arguments, starting with --batch
+     * @param defaultDictionary dictionary file used when --dictionary is not given
+     * @param in pairs to solve when no pairs file is given
+     * @param out destination of result lines; flushed but not closed
+     * @param err destination of the usage message
+     * @pre all arguments must not be null
+     * @post Returns EXIT_USAGE after printing the usage to err if the arguments are invalid; otherwise
+     *       every pair has been solved onto out
+     * @return process exit status
+     * @throws IOException if the dictionary or the input cannot be read, or out cannot be written
+     */
+    public static int run(String[] args, String defaultDictionary, InputStream in, OutputStream out, PrintStream err) throws IOException {
+        String dictionary = defaultDictionary;
+        String input = null;
+        boolean inputOrder = true;
+        SearchMode mode = SearchMode.BIDIRECTIONAL;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--dictionary=")) {
+                dictionary = arg.substring("--dictionary=".length());
+            } else if (arg.startsWith("--order=")) {
+                String order = arg.substring("--order=".length());
+                if (!order.equals("input") && !order.equals("completion")) {
+                    return usage(err, "Unknown order: " + order);
+                }
+                inputOrder = order.equals("input");
+            } else if (arg.startsWith("--mode=")) {
+                String name = arg.substring("--mode=".length());
+                try {
+                    mode = SearchMode.valueOf(name);
+                } catch (IllegalArgumentException e) {
+                    return usage(err, "Unknown search mode: " + name);
+                }
+            } else if (arg.startsWith("--")) {
+                return usage(err, "Unknown option: " + arg);
+            } else if (input != null) {
+                return usage(err, "Only one pairs file may be given");
+            } else {
+                input = arg;
+            }
+        }
+
+        WordGraph graph = WordGraph.read(Paths.get(dictionary));
+        BatchSolver solver = new BatchSolver(graph, mode, inputOrder);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        if (input == null) {
+            solver.solve(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), writer, ForkJoinPool.commonPool());
+        } else {
+            try (BufferedReader reader = Files.newBufferedReader(Paths.get(input))) {
+                solver.solve(reader, writer, ForkJoinPool.commonPool());
+            }
+        }
+        return 0;
+    }
+
+    private static int usage(PrintStream err, String problem) {
+        err.println(problem);
+        err.println("Usage: WeaverCLI --batch [--dictionary=file] [--order=input|completion] [--mode="
+                + Arrays.stream(SearchMode.values()).map(Enum::name).collect(Collectors.joining("|")) + "] [pairs-file]");
+        return EXIT_USAGE;
+    }
+
+    /**
+     * @param reader source of "start target" lines
+     * @param writer destination of result lines
+     * @param pool the work-stealing pool to solve on
+     * @pre all arguments must not be null
+     * @post Every non-blank input line has produced exactly one result line
+     * @throws IOException if reading or writing fails
+     */
+    public void solve(BufferedReader reader, Writer writer, ForkJoinPool pool) throws IOException {
+        // Bounding the chunks in flight keeps memory flat no matter how many pairs are streamed
+        int maxInFlight = pool.getParallelism() * 4;
+        CompletionService<String> completed = new ExecutorCompletionService<>(pool);
+        Deque<Future<String>> pending = new ArrayDeque<>();
+
+        List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            chunk.add(line);
+            if (chunk.size() == CHUNK_SIZE) {
+                List<String> lines = chunk;
+                pending.addLast(submit(lines, pool, completed));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+                if (pending.size() >= maxInFlight) {
+                    writeNext(pending, completed, writer);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            List<String> lines = chunk;
+            pending.addLast(submit(lines, pool, completed));
+        }
+        while (!pending.isEmpty()) {
+            writeNext(pending, completed, writer);
+        }
+        writer.flush();
+    }
+
+    private Future<String> submit(List<String> lines, ForkJoinPool pool, CompletionService<String> completed) {
+        // Only completion order needs the completion queue; in input order it would just pile up
+        return inputOrder ? pool.submit(() -> solveChunk(lines)) : completed.submit(() -> solveChunk(lines));
+    }
+
+    private void writeNext(Deque<Future<String>> pending, CompletionService<String> completed, Writer writer) throws IOException {
+        try {
+            Future<String> next = inputOrder ? pending.peekFirst() : completed.take();
+            pending.remove(next);
+            writer.write(next.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while solving", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to solve batch", e.getCause());
+        }
+    }
+
+    private String solveChunk(List<String> lines) {
+        StringBuilder out = new StringBuilder(lines.size() * 48);
+        for (String line : lines) {
+            String[] words = line.trim().split("\\s+");
+            if (words.length != 2) {
+                out.append(line.trim()).append(" invalid\n");
+                continue;
+            }
+            out.append(words[0]).append(' ').append(words[1]).append(' ');
+            int start = graph.indexOf(words[0]);
+            int target = graph.indexOf(words[1]);
+            if (start < 0 || target < 0) {
+                out.append("invalid\n");
+                continue;
+            }
+            int[] path = pathFinder.findPath(start, target, mode);
+            if (path == null) {
+                out.append("-1\n");
+                continue;
+            }
+            out.append(path.length - 1).append(' ');
+            for (int i = 0; i < path.length; i++) {
+                if (i > 0) out.append(',');
+                out.append(graph.word(path[i]));
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+}
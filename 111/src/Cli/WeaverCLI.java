@@ -2,24 +2,37 @@ package Cli;
 
 import Model.Model;
 import Model.ModelInterface;
+import Model.MoveJournal;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Scanner;
 
 public class WeaverCLI {
 
     private static final String DICTIONARY_FILE = "dictionary.txt";
+    private static final String JOURNAL_FILE = "weaver-cli.journal";
+    private static final int JOURNAL_GAME = 0;
     private static final int EXIT_CODE = 0;
     private static final int RESTART_CODE = 1;
     private static final int UNDO_CODE = 2;
     private static final int HINT_CODE = 3;
+    private static final int REDO_CODE = 4;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            int status = BatchSolver.run(args, DICTIONARY_FILE);
+            if (status != 0) System.exit(status);
+            return;
+        }
 
-    public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         ModelInterface model = new Model(DICTIONARY_FILE);
         boolean gameRunning = true;
 
         System.out.println("Welcome to the Word Chain Game!");
+        boolean saving = resumeGame(model);
 
         while (gameRunning) {
             displayGameStatus(model);
@@ -42,6 +55,9 @@ public class WeaverCLI {
                     case HINT_CODE:
                         showPathHint(model);
                         break;
+                    case REDO_CODE:
+                        redoMove(model);
+                        break;
                     default:
                         System.out.println("Invalid numeric command.");
                         break;
@@ -52,9 +68,13 @@ public class WeaverCLI {
                 } else {
                     // If input is valid, print the current word
                     System.out.println("The current word has been updated to: " + model.getCurrentWord());
+                    System.out.println(model.isLastMoveOptimal() ? "Optimal move!" : "Not on a shortest path.");
                 }
             }
 
+            // Whatever the command changed is on disk before the next one is read
+            if (saving) saving = saveGame(model);
+
             if (model.isWin()) {
                 System.out.println("Congratulations, you win!");
                 gameRunning = false;
@@ -64,17 +84,51 @@ public class WeaverCLI {
         scanner.close();
     }
 
+    /**
+     * @param model a model with its dictionary loaded
+     * @post The unfinished game from the last run, if any, is restored, and every change is recorded from now on
+     * @return true if the game is being saved
+     */
+    private static boolean resumeGame(ModelInterface model) {
+        try {
+            MoveJournal journal = MoveJournal.open(Paths.get(JOURNAL_FILE));
+            journal.closeOnExit();
+            if (model.resume(journal, JOURNAL_GAME)) {
+                System.out.println("Resuming your last game.");
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("Your game cannot be saved: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @post Every change made so far is on disk, or the player has been told that saving stopped
+     * @return true if the game is still being saved
+     */
+    private static boolean saveGame(ModelInterface model) {
+        try {
+            model.sync();
+            return true;
+        } catch (IOException e) {
+            System.out.println("Your game can no longer be saved: " + e.getMessage());
+            return false;
+        }
+    }
+
     private static void displayGameStatus(ModelInterface model) {
         System.out.println("\nCurrent game status:");
         System.out.println("Start word: " + model.getStartWord());
         System.out.println("Target word: " + model.getTargetWord());
         System.out.println("Current word: " + model.getpreviousword());
         System.out.println("Number of moves: " + model.getMoveHistory().size());
+        System.out.println("Moves remaining: " + model.getMovesRemaining());
         System.out.println("Status message: " + model.getStatusMessage());
         if (!model.getErrorMessage().isEmpty()) {
             System.out.println("Error message: " + model.getErrorMessage());
         }
-        System.out.println("Available operations:  0(Exit), 1(Restart), 2(Undo), 3(Hint path), Others(Enter a word to play)");
+        System.out.println("Available operations:  0(Exit), 1(Restart), 2(Undo), 3(Hint path), 4(Redo), Others(Enter a word to play)");
     }
 
     private static String getValidInput(Scanner scanner) {
@@ -89,8 +143,17 @@ public class WeaverCLI {
         System.out.println("The current word has been updated to: " + model.getCurrentWord());
     }
 
+    private static void redoMove(ModelInterface model) {
+        if (!model.redoMove()) {
+            System.out.println("There is no move to redo.");
+            return;
+        }
+        System.out.println("The last undone move has been redone.");
+        System.out.println("The current word has been updated to: " + model.getpreviousword());
+    }
+
     private static void showPathHint(ModelInterface model) {
-        List<String> path = model.findPath(model.getStartWord(), model.getTargetWord());
+        List<String> path = model.getHintPath();
         if (path != null) {
             System.out.println("Path hint: " + String.join(" -> ", path));
         } else {
@@ -99,6 +162,12 @@ public class WeaverCLI {
     }
 
     private static boolean isNumeric(String str) {
-        return str != null && str.matches("-?\\d+(\\.\\d+)?");
+        if (str == null || str.isEmpty() || str.length() > 9) return false;
+        int first = str.charAt(0) == '-' ? 1 : 0;
+        if (first == str.length()) return false;
+        for (int i = first; i < str.length(); i++) {
+            if (!Character.isDigit(str.charAt(i))) return false;
+        }
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package Model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Process-wide cache of loaded dictionaries, so every Model on the same file shares one immutable {@link WordGraph}.
+ *
+ * <p>Entries are keyed by absolute path and modification time, so an edited file is loaded afresh.
+ * Graphs are held weakly: once no Model references a graph it can be collected, and its entry is
+ * dropped on a later acquire.</p>
+ */
+public final class DictionaryRegistry {
+
+    private static final ConcurrentHashMap<Key, GraphReference> entries = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<WordGraph> released = new ReferenceQueue<>();
+
+    private DictionaryRegistry() {
+    }
+
+    /**
+     * @param dictionaryFile path of a text dictionary or a compiled graph file
+     * @pre dictionaryFile must not be null
+     * @post Returns the shared graph for the file's current contents, loading it at most once per version
+     * @return shared word graph
+     * @throws IOException if the file cannot be read
+     */
+    public static WordGraph acquire(String dictionaryFile) throws IOException {
+        return acquire(dictionaryFile, percent -> { });
+    }
+
+    /**
+     * @param dictionaryFile path of a text dictionary or a compiled graph file
+     * @param progress receives the loading progress in percent, from the calling thread
+     * @pre dictionaryFile and progress must not be null
+     * @post Returns the shared graph for the file's current contents; progress has received 100
+     * @return shared word graph
+     * @throws IOException if the file cannot be read
+     */
+    public static WordGraph acquire(String dictionaryFile, IntConsumer progress) throws IOException {
+        assert dictionaryFile != null : "Dictionary file must not be null";
+        expungeReleased();
+
+        Path path = Paths.get(dictionaryFile).toAbsolutePath().normalize();
+        Key key = new Key(path, Files.getLastModifiedTime(path).toMillis());
+
+        GraphReference existing = entries.get(key);
+        WordGraph graph = existing == null ? null : existing.get();
+        if (graph != null) {
+            progress.accept(100);
+            return graph;
+        }
+
+        // The freshly loaded graph must stay strongly reachable until it is returned
+        WordGraph[] loaded = new WordGraph[1];
+        try {
+            entries.compute(key, (k, current) -> {
+                WordGraph shared = current == null ? null : current.get();
+                if (shared == null) {
+                    try {
+                        shared = WordGraph.open(k.path, progress);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    current = new GraphReference(shared, k);
+                }
+                loaded[0] = shared;
+                return current;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        progress.accept(100);
+        return loaded[0];
+    }
+
+    /**
+     * @post Returns the number of dictionaries currently cached
+     * @return entry count
+     */
+    public static int size() {
+        expungeReleased();
+        return entries.size();
+    }
+
+    private static void expungeReleased() {
+        GraphReference reference;
+        while ((reference = (GraphReference) released.poll()) != null) {
+            entries.remove(reference.key, reference);
+        }
+    }
+
+    private static final class GraphReference extends WeakReference<WordGraph> {
+        private final Key key;
+
+        private GraphReference(WordGraph graph, Key key) {
+            super(graph, released);
+            this.key = key;
+        }
+    }
+
+    private static final class Key {
+        private final Path path;
+        private final long modified;
+
+        private Key(Path path, long modified) {
+            this.path = path;
+            this.modified = modified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return modified == other.modified && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, modified);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package Model;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leveled diagnostics that never block the caller.
+ *
+ * <p>The level is read once from the system property {@value #LEVEL_PROPERTY} (DEBUG, INFO, WARN, ERROR or OFF;
+ * default WARN) into static final flags. Callers guard each message with a flag, e.g.
+ * {@code if (EventLog.DEBUG) EventLog.debug("moved to " + word);}, so a disabled message is not even built
+ * and the JIT removes the check entirely.</p>
+ *
+ * <p>Enabled messages go into a fixed-size lock-free ring buffer and are written to standard error by a
+ * background daemon thread. When the buffer is full, messages are dropped and counted rather than waiting.
+ * The writer polls briefly after each burst, then sleeps until the next message wakes it, so an idle log
+ * costs no CPU. At exit a shutdown hook writes whatever is left, waiting a bounded time for messages
+ * still being queued.</p>
+ */
+public final class EventLog {
+
+    public static final String LEVEL_PROPERTY = "weaver.log.level";
+
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    public static final Level LEVEL = parseLevel(System.getProperty(LEVEL_PROPERTY));
+    public static final boolean DEBUG = LEVEL.compareTo(Level.DEBUG) <= 0;
+    public static final boolean INFO = LEVEL.compareTo(Level.INFO) <= 0;
+    public static final boolean WARN = LEVEL.compareTo(Level.WARN) <= 0;
+    public static final boolean ERROR = LEVEL.compareTo(Level.ERROR) <= 0;
+
+    private static final int CAPACITY = 1 << 12;
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+    private static final int IDLE_ROUNDS = 10;
+    private static final long FLUSH_PARK_NANOS = 1_000_000L;
+    private static final long FLUSH_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private static final AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    // Held by whichever thread is writing messages out: the drainer, or the shutdown hook
+    private static final ReentrantLock consumer = new ReentrantLock();
+    private static volatile long head;
+    private static long reportedDropped;
+    private static volatile Thread drainer;
+    private static volatile boolean sleeping;
+    private static volatile boolean closed;
+
+    private EventLog() {
+    }
+
+    public static void debug(String message) {
+        log(Level.DEBUG, message);
+    }
+
+    public static void info(String message) {
+        log(Level.INFO, message);
+    }
+
+    public static void warn(String message) {
+        log(Level.WARN, message);
+    }
+
+    public static void error(String message) {
+        log(Level.ERROR, message);
+    }
+
+    /**
+     * @param level severity of the message
+     * @param message the message text
+     * @pre level must not be OFF
+     * @post The message is queued for writing if level is enabled and the buffer has room; otherwise it is dropped
+     */
+    public static void log(Level level, String message) {
+        if (level.compareTo(LEVEL) < 0) return;
+        long slot;
+        do {
+            slot = tail.get();
+            if (slot - head >= CAPACITY) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!tail.compareAndSet(slot, slot + 1));
+        slots.lazySet((int) slot & (CAPACITY - 1), new Entry(System.currentTimeMillis(), level, Thread.currentThread().getName(), message));
+        Thread thread = drainer;
+        if (thread == null) {
+            startDrainer();
+        } else if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @post Returns the number of messages dropped because the buffer was full
+     * @return dropped message count
+     */
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    private static synchronized void startDrainer() {
+        if (drainer != null) return;
+        Thread thread = new Thread(EventLog::drainForever, "event-log");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        drainer = thread;
+        thread.start();
+        // Whatever is still buffered at exit is written by the hook
+        Runtime.getRuntime().addShutdownHook(new Thread(EventLog::flushAtExit, "event-log-flush"));
+    }
+
+    private static void drainForever() {
+        int idleRounds = 0;
+        while (!closed) {
+            if (drain()) {
+                idleRounds = 0;
+            } else if (head < tail.get()) {
+                // A producer has claimed the next slot but not yet filled it
+                Thread.yield();
+            } else if (++idleRounds < IDLE_ROUNDS) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                // Publishing sleeping before re-reading tail pairs with log advancing tail before reading sleeping,
+                // so a message queued now either is seen here or unparks this thread
+                sleeping = true;
+                if (head == tail.get() && !closed) LockSupport.park();
+                sleeping = false;
+                idleRounds = 0;
+            }
+        }
+    }
+
+    private static void flushAtExit() {
+        closed = true;
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        // The drainer may still be writing, and producers may still be filling slots; retry until empty or out of time
+        while (true) {
+            drain();
+            if (head >= tail.get() || System.nanoTime() - deadline >= 0) return;
+            LockSupport.parkNanos(FLUSH_PARK_NANOS);
+        }
+    }
+
+    /**
+     * @post Writes the buffered messages up to the first slot that is still being filled, unless another thread is
+     *       already writing; never waits
+     * @return true if anything was written
+     */
+    private static boolean drain() {
+        if (!consumer.tryLock()) return false;
+        try {
+            PrintStream out = System.err;
+            boolean wrote = false;
+            long next = head;
+            while (next < tail.get()) {
+                int index = (int) next & (CAPACITY - 1);
+                Entry entry = slots.get(index);
+                if (entry == null) break; // Claimed but not yet filled; picked up on the next pass
+                slots.set(index, null);
+                head = ++next;
+                out.println(entry);
+                wrote = true;
+            }
+            long lost = dropped.get();
+            if (lost > reportedDropped) {
+                out.println("[event-log] dropped " + (lost - reportedDropped) + " messages");
+                reportedDropped = lost;
+            }
+            return wrote;
+        } finally {
+            consumer.unlock();
+        }
+    }
+
+    private static Level parseLevel(String value) {
+        if (value == null) return Level.WARN;
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.WARN;
+        }
+    }
+
+    private static final class Entry {
+        private final long time;
+        private final Level level;
+        private final String thread;
+        private final String message;
+
+        private Entry(long time, Level level, String thread, String message) {
+            this.time = time;
+            this.level = level;
+            this.thread = thread;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return Instant.ofEpochMilli(time) + " " + level + " [" + thread + "] " + message;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package Model;
+
+/**
+ * A change in the state of a {@link Model}, delivered to {@link GameEventListener}s through a {@link GameEventBus}.
+ */
+public final class GameEvent {
+
+    /**
+     * What happened. Error types report a rejected move and leave the game state unchanged.
+     */
+    public enum Type {
+        /** A new puzzle was chosen, or the current one was restarted. */
+        NEW_GAME(false),
+        /** A move was accepted. */
+        VALID_MOVE(false),
+        /** A move was accepted and reached the target word. */
+        GAME_WON(false),
+        /** The last move was taken back. */
+        MOVE_UNDONE(false),
+        /** The last undone move was made again. */
+        MOVE_REDONE(false),
+        /** The start or target word was replaced. */
+        WORDS_CHANGED(false),
+        /** The move repeated the previous word. */
+        NO_CHANGE(true),
+        /** The move did not change any letter. */
+        NO_LETTER_CHANGED(true),
+        /** The move changed more than one letter. */
+        NOT_ONE_LETTER_DIFFERENT(true),
+        /** The move is not a dictionary word. */
+        NOT_IN_DICTIONARY(true);
+
+        private final boolean error;
+
+        Type(boolean error) {
+            this.error = error;
+        }
+
+        public boolean isError() {
+            return error;
+        }
+    }
+
+    private final ModelInterface source;
+    private final Type type;
+
+    public GameEvent(ModelInterface source, Type type) {
+        assert source != null && type != null : "Source and type must not be null";
+        this.source = source;
+        this.type = type;
+    }
+
+    public ModelInterface getSource() {
+        return source;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return type.name();
+    }
+}
@@ -0,0 +1,164 @@
+package Model;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the events of one model to its listeners, each on the thread its {@link Delivery} asks for.
+ *
+ * <p>Events published inside {@link #batch(Runnable)} are coalesced: when the outermost batch ends,
+ * each event type is delivered at most once, in order of first occurrence. A player action that is run
+ * as one batch therefore causes a bounded number of notifications, however many state changes it makes.</p>
+ *
+ * <p>All methods are thread-safe. A batch collects only the events published by the thread running it.
+ * Asynchronous listeners receive their events in publication order, one at a time.</p>
+ */
+public final class GameEventBus {
+
+    /**
+     * Where a listener's events are delivered.
+     */
+    public enum Delivery {
+        /** In the publishing thread, before publish returns. */
+        SYNC,
+        /** On the Swing event dispatch thread; immediately if the publisher is already on it. */
+        EDT,
+        /** On a background thread, so a slow listener never holds up the model. */
+        ASYNC
+    }
+
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "game-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<GameEvent>> batches = new ThreadLocal<>();
+
+    /**
+     * @param listener the listener to add
+     * @param delivery where its events are delivered
+     * @pre listener and delivery must not be null
+     * @post listener receives every event published from now on
+     */
+    public void subscribe(GameEventListener listener, Delivery delivery) {
+        assert listener != null && delivery != null : "Listener and delivery must not be null";
+        subscriptions.add(new Subscription(listener, delivery));
+    }
+
+    /**
+     * @param listener a subscribed listener
+     * @post listener receives no further events
+     */
+    public void unsubscribe(GameEventListener listener) {
+        subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    /**
+     * @param event the event to deliver
+     * @pre event must not be null
+     * @post event has been handed to every listener, or queued until the current batch ends
+     */
+    public void publish(GameEvent event) {
+        assert event != null : "Event must not be null";
+        List<GameEvent> pending = batches.get();
+        if (pending != null) {
+            pending.add(event);
+        } else {
+            deliver(event);
+        }
+    }
+
+    /**
+     * @param action a logical action that may publish several events
+     * @pre action must not be null
+     * @post The events published by action have been delivered once per type
+     */
+    public void batch(Runnable action) {
+        if (batches.get() != null) {
+            action.run(); // Nested: the outermost batch delivers
+            return;
+        }
+        List<GameEvent> pending = new ArrayList<>();
+        batches.set(pending);
+        try {
+            action.run();
+        } finally {
+            batches.remove();
+            flush(pending);
+        }
+    }
+
+    private void flush(List<GameEvent> events) {
+        EnumSet<GameEvent.Type> delivered = EnumSet.noneOf(GameEvent.Type.class);
+        for (GameEvent event : events) {
+            if (delivered.add(event.getType())) {
+                deliver(event);
+            }
+        }
+    }
+
+    private void deliver(GameEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.deliver(event);
+        }
+    }
+
+    private static final class Subscription {
+        private final GameEventListener listener;
+        private final Delivery delivery;
+        private final Queue<GameEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscription(GameEventListener listener, Delivery delivery) {
+            this.listener = listener;
+            this.delivery = delivery;
+        }
+
+        private void deliver(GameEvent event) {
+            switch (delivery) {
+                case SYNC:
+                    listener.onGameEvent(event);
+                    break;
+                case EDT:
+                    if (SwingUtilities.isEventDispatchThread()) {
+                        listener.onGameEvent(event);
+                    } else {
+                        SwingUtilities.invokeLater(() -> listener.onGameEvent(event));
+                    }
+                    break;
+                default:
+                    queue.add(event);
+                    if (draining.compareAndSet(false, true)) {
+                        ASYNC_EXECUTOR.execute(this::drain);
+                    }
+                    break;
+            }
+        }
+
+        // Runs on the executor; at most one drain per subscription keeps its events in order
+        private void drain() {
+            while (true) {
+                GameEvent event;
+                while ((event = queue.poll()) != null) {
+                    try {
+                        listener.onGameEvent(event);
+                    } catch (RuntimeException e) {
+                        if (EventLog.ERROR) EventLog.error("Game event listener failed: " + e);
+                    }
+                }
+                draining.set(false);
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) return;
+            }
+        }
+    }
+}
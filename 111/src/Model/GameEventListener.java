@@ -0,0 +1,9 @@
+package Model;
+
+/**
+ * Receives the {@link GameEvent}s of a model, on the thread chosen by its {@link GameEventBus.Delivery}.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+    void onGameEvent(GameEvent event);
+}
@@ -0,0 +1,145 @@
+package Model;
+
+/**
+ * An immutable snapshot of one game: the puzzle, the moves made so far and the outcome of the last move.
+ *
+ * <p>{@link Model} publishes a new snapshot for every change, so a reader that holds a snapshot always
+ * sees a consistent game, on any thread, without locking or copying.</p>
+ */
+public final class GameState {
+
+    static final GameState EMPTY = newGame(null, null, null);
+
+    private final String startWord;
+    private final String targetWord;
+    private final MoveHistory moveHistory;
+    private final MoveHistory redoHistory;
+    private final String currentWord;
+    private final String statusMessage;
+    private final String errorMessage;
+    private final boolean lastMoveOptimal;
+    private final short[] distanceToTarget;
+
+    private GameState(String startWord, String targetWord, MoveHistory moveHistory, MoveHistory redoHistory, String currentWord,
+                      String statusMessage, String errorMessage, boolean lastMoveOptimal, short[] distanceToTarget) {
+        this.startWord = startWord;
+        this.targetWord = targetWord;
+        this.moveHistory = moveHistory;
+        this.redoHistory = redoHistory;
+        this.currentWord = currentWord;
+        this.statusMessage = statusMessage;
+        this.errorMessage = errorMessage;
+        this.lastMoveOptimal = lastMoveOptimal;
+        this.distanceToTarget = distanceToTarget;
+    }
+
+    /**
+     * @param startWord the start word
+     * @param targetWord the target word
+     * @param distanceToTarget distance from every word id to targetWord, or null; never modified afterwards
+     * @post Returns a fresh game on the given puzzle with no moves
+     * @return new game state
+     */
+    static GameState newGame(String startWord, String targetWord, short[] distanceToTarget) {
+        return new GameState(startWord, targetWord, MoveHistory.EMPTY, MoveHistory.EMPTY, "", "", "", false, distanceToTarget);
+    }
+
+    public String getStartWord() {
+        return startWord;
+    }
+
+    public String getTargetWord() {
+        return targetWord;
+    }
+
+    /**
+     * @post Returns the accepted moves in order; the list cannot be modified and shares structure with other snapshots
+     * @return move history
+     */
+    public MoveHistory getMoveHistory() {
+        return moveHistory;
+    }
+
+    /**
+     * @post Returns the undone moves that can be redone, the next one to redo last
+     * @return redo history
+     */
+    public MoveHistory getRedoHistory() {
+        return redoHistory;
+    }
+
+    public boolean canRedo() {
+        return !redoHistory.isEmpty();
+    }
+
+    public String getCurrentWord() {
+        return currentWord;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public boolean isLastMoveOptimal() {
+        return lastMoveOptimal;
+    }
+
+    /**
+     * @post Returns the last accepted move, or the empty string if there is none
+     * @return previous word
+     */
+    public String getPreviousWord() {
+        return moveHistory.isEmpty() ? "" : moveHistory.peek();
+    }
+
+    /**
+     * @post Returns the word the next move starts from: the last accepted move, or the start word
+     * @return current position
+     */
+    public String getPosition() {
+        return moveHistory.isEmpty() ? startWord : getPreviousWord();
+    }
+
+    /**
+     * @post Returns true if the last move matches the target word
+     * @return whether the game has been won
+     */
+    public boolean isWin() {
+        return !moveHistory.isEmpty() && getPreviousWord().equalsIgnoreCase(targetWord);
+    }
+
+    short[] distanceToTarget() {
+        return distanceToTarget;
+    }
+
+    GameState withMove(String word, boolean optimal, String status) {
+        // Replaying the move that was undone keeps the rest of the redo history; any other move discards it
+        MoveHistory redo = word.equals(redoHistory.peek()) ? redoHistory.pop() : MoveHistory.EMPTY;
+        return new GameState(startWord, targetWord, moveHistory.push(word), redo, "", status, "", optimal, distanceToTarget);
+    }
+
+    GameState withoutLastMove() {
+        return new GameState(startWord, targetWord, moveHistory.pop(), redoHistory.push(moveHistory.peek()), "", "", errorMessage, false, distanceToTarget);
+    }
+
+    GameState withRejection(String status, String error) {
+        return new GameState(startWord, targetWord, moveHistory, redoHistory, currentWord, status, error, lastMoveOptimal, distanceToTarget);
+    }
+
+    GameState restarted() {
+        return newGame(startWord, targetWord, distanceToTarget);
+    }
+
+    GameState withStartWord(String word) {
+        // Undone moves were played from the old start word, so none of them can be redone from the new one
+        return new GameState(word, targetWord, moveHistory, MoveHistory.EMPTY, currentWord, statusMessage, errorMessage, lastMoveOptimal, distanceToTarget);
+    }
+
+    GameState withTargetWord(String word, short[] distances) {
+        return new GameState(startWord, word, moveHistory, redoHistory, currentWord, statusMessage, errorMessage, lastMoveOptimal, distances);
+    }
+}
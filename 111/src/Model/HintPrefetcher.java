@@ -0,0 +1,85 @@
+package Model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes the path from the player's current word to the target in the background, ahead of any hint request.
+ *
+ * <p>Each Model schedules a prefetch whenever its position changes. Only the latest prefetch of a
+ * Model is kept: scheduling a new one cancels the previous search. All Models share one low-priority
+ * daemon thread. Prefetches run through the graph's {@link PathCache}, so a pair that is already cached
+ * is not queued at all, and many Models prefetching or asking for the same pair share one search.
+ * A hint request never waits for this thread: it reads the cache, joins a search in flight, or searches
+ * itself.</p>
+ *
+ * <p>The queue of that thread is bounded: when it is full the oldest queued prefetch is dropped. That is
+ * always safe, because a prefetch is only an optimisation and a request for a dropped one searches itself.</p>
+ */
+final class HintPrefetcher {
+
+    private static final int QUEUE_CAPACITY = 256;
+
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), task -> {
+                Thread thread = new Thread(task, "hint-prefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardOldestPolicy());
+
+    private final PathFinder pathFinder;
+    private final PathCache cache;
+    private final AtomicReference<Prefetch> current = new AtomicReference<>();
+
+    HintPrefetcher(PathFinder pathFinder, PathCache cache) {
+        assert pathFinder != null && cache != null : "Path finder and cache must not be null";
+        this.pathFinder = pathFinder;
+        this.cache = cache;
+    }
+
+    /**
+     * @param start id of the player's current word
+     * @param target id of the target word
+     * @param mode the search strategy to use
+     * @pre Both ids must be valid in the graph and mode must not be null
+     * @post Any earlier prefetch is discarded, and a search from start to target is queued
+     *       unless the pair is already cached or being searched
+     */
+    void prefetch(int start, int target, SearchMode mode) {
+        Prefetch latest = current.get();
+        if (latest != null && latest.start == start && latest.target == target) return;
+        if (cache.contains(start, target)) {
+            invalidate();
+            return;
+        }
+        Future<int[]> result = EXECUTOR.submit(() -> cache.computeIfAbsent(start, target, (from, to) -> pathFinder.findPath(from, to, mode)));
+        // Racing prefetches each cancel whatever they displace, so none is left running unreferenced
+        Prefetch previous = current.getAndSet(new Prefetch(start, target, result));
+        if (previous != null) previous.result.cancel(true);
+    }
+
+    /**
+     * @post Any pending or finished prefetch is discarded
+     */
+    void invalidate() {
+        Prefetch previous = current.getAndSet(null);
+        if (previous != null) previous.result.cancel(true);
+    }
+
+    private static final class Prefetch {
+        private final int start;
+        private final int target;
+        private final Future<int[]> result;
+
+        private Prefetch(int start, int target, Future<int[]> result) {
+            this.start = start;
+            this.target = target;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed breadth-first distance tables for a handful of landmark words, used by the ALT heuristic.
+ * By the triangle inequality |d(L, target) - d(L, word)| never overestimates d(word, target).
+ */
+final class Landmarks {
+
+    static final int DEFAULT_COUNT = 4;
+
+    private final short[][] distances;
+
+    private Landmarks(short[][] distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * @param graph the graph to pick landmarks from
+     * @param count maximum number of landmarks
+     * @pre graph must not be null
+     * @post Returns landmarks chosen by farthest-point selection within the component of word 0
+     * @return landmark tables
+     */
+    static Landmarks select(WordGraph graph, int count) {
+        List<short[]> tables = new ArrayList<>();
+        if (graph.size() > 0) {
+            // The word farthest from an arbitrary seed is a good first landmark
+            int landmark = farthestWord(graph.distancesFrom(0), tables);
+            while (landmark >= 0 && tables.size() < count) {
+                tables.add(graph.distancesFrom(landmark));
+                landmark = farthestWord(tables.get(0), tables);
+            }
+        }
+        return new Landmarks(tables.toArray(new short[0][]));
+    }
+
+    private static int farthestWord(short[] candidates, List<short[]> tables) {
+        int best = -1;
+        int bestDistance = 0;
+        for (int id = 0; id < candidates.length; id++) {
+            if (candidates[id] < 0) continue;
+            int nearest = tables.isEmpty() ? candidates[id] : Integer.MAX_VALUE;
+            for (short[] table : tables) {
+                nearest = Math.min(nearest, table[id]);
+            }
+            if (nearest > bestDistance) {
+                bestDistance = nearest;
+                best = id;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param id word id to estimate from
+     * @param target target word id
+     * @pre Both ids must be valid in the graph the landmarks were built from
+     * @post Returns a lower bound on the distance between id and target
+     * @return admissible estimate
+     */
+    int lowerBound(int id, int target) {
+        int bound = 0;
+        for (short[] table : distances) {
+            int fromLandmark = table[id];
+            int toTarget = table[target];
+            if (fromLandmark >= 0 && toTarget >= 0) {
+                bound = Math.max(bound, Math.abs(toTarget - fromLandmark));
+            }
+        }
+        return bound;
+    }
+}
@@ -1,119 +1,380 @@
 package Model;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.*;
-import java.util.stream.Stream;
-
-public class Model extends Observable implements ModelInterface {
-
-    private String startWord;
-    private String targetWord;
-    private String currentWord;
-    private List<String> moveHistory;
-    private String statusMessage;
-    private String errorMessage;
-    private String dictionaryFile;
-    private boolean useRandomWords = false;
-    private List<String> dictionary;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * The Weaver game. All game state lives in one immutable {@link GameState}, replaced through an atomic
+ * reference with compare-and-set on every change, so the model can be read and played from several threads:
+ * readers never lock or copy, and writers never block readers.
+ */
+public class Model implements ModelInterface {
+
+    // Stands in for the dictionary until setDictionary; shared, as every deferred Model would build the same one
+    private static final WordGraph NO_WORDS = WordGraph.fromWords(Collections.emptyList());
+
+    private final String dictionaryFile;
+    private final AtomicReference<GameState> state = new AtomicReference<>(GameState.EMPTY);
+    private volatile Engine engine;
+    private volatile boolean useRandomWords = false;
+    private volatile SearchMode searchMode = SearchMode.BIDIRECTIONAL;
+    private volatile boolean prefetchHints = true;
+    private final SplittableRandom random = new SplittableRandom();
+    private final GameEventBus events = new GameEventBus();
+    private final Object journalLock = new Object();
+    private volatile MoveJournal journal;
+    private int journalGame;
 
     public Model(String dictionaryFile) {
+        this(dictionaryFile, false);
+    }
+
+    /**
+     * @param dictionaryFile path of a text dictionary or a compiled graph file
+     * @param deferLoading if true, the dictionary is not read here and the caller must supply it through setDictionary
+     * @pre dictionaryFile must not be null
+     * @post If deferLoading is false the dictionary is loaded and a random game has started;
+     *       otherwise the model is empty and isLoaded returns false
+     */
+    public Model(String dictionaryFile, boolean deferLoading) {
         this.dictionaryFile = dictionaryFile;
-        this.currentWord = "";
-        this.moveHistory = new ArrayList<>();
-        this.statusMessage = "";
-        this.errorMessage = "";
-        this.dictionary = readWordsFromDictionary();
+        if (deferLoading) {
+            this.engine = new Engine(NO_WORDS, false);
+        } else {
+            this.engine = new Engine(readWordsFromDictionary(), true);
+            setRandomWords(true);
+        }
+    }
+
+    /**
+     * @param dictionary an already loaded word graph, typically shared with other Models
+     * @pre dictionary must not be null
+     * @post The model plays on dictionary and a random game has started
+     */
+    public Model(WordGraph dictionary) {
+        assert dictionary != null : "Dictionary must not be null";
+        this.dictionaryFile = null;
+        this.engine = new Engine(dictionary, true);
         setRandomWords(true);
     }
 
+    /**
+     * @param dictionary the loaded word graph, typically from DictionaryRegistry.acquire on a background thread
+     * @pre dictionary must not be null
+     * @post The model plays on dictionary, isLoaded returns true and a new random game has started
+     */
+    public void setDictionary(WordGraph dictionary) {
+        assert dictionary != null : "Dictionary must not be null";
+        engine = new Engine(dictionary, true);
+        setRandomWords(true);
+    }
+
+    /**
+     * @param journal an open move journal
+     * @param game the journal's id for this model's game
+     * @pre journal must not be null; the dictionary must be loaded; no other thread may use the model during the call
+     * @post If the journal holds an unfinished game under that id, it is rebuilt, undone moves included, and listeners
+     *       receive one NEW_GAME event; otherwise, or if some recorded change cannot be replayed exactly,
+     *       the current game is recorded as the game's new start.
+     *       Every later change is appended to the journal
+     * @return true if an unfinished game was rebuilt
+     */
+    public boolean resume(MoveJournal journal, int game) {
+        assert journal != null : "Journal must not be null";
+        Engine engine = this.engine;
+        assert engine.loaded : "Dictionary must be loaded";
+
+        GameState replayed = null;
+        String broken = null;
+        for (MoveJournal.Record record : journal.records(game)) {
+            // A new game replaces the one before it, however that one ended
+            if (record.op == MoveJournal.NEW_GAME) broken = null;
+            if (broken != null) continue;
+            try {
+                replayed = replay(engine, replayed, record);
+            } catch (IOException e) {
+                broken = e.getMessage();
+                replayed = null;
+            }
+        }
+        if (broken != null && EventLog.WARN) EventLog.warn("Game " + game + " cannot be resumed: " + broken);
+        boolean resumed = replayed != null && !replayed.isWin();
+
+        synchronized (journalLock) {
+            if (resumed) state.set(replayed);
+            journalGame = game;
+            this.journal = journal;
+            if (!resumed) {
+                GameState current = state.get();
+                journal(journal, MoveJournal.NEW_GAME, current);
+                for (String move : current.getMoveHistory()) {
+                    journal.append(game, MoveJournal.MOVE, WordCodec.encode(move), WordCodec.INVALID);
+                }
+            }
+        }
+        if (resumed) {
+            if (EventLog.INFO) EventLog.info("Resumed game " + game + " after " + replayed.getMoveHistory().size() + " moves");
+            prefetchHint(replayed);
+            publish(GameEvent.Type.NEW_GAME);
+        }
+        return resumed;
+    }
+
+    /**
+     * @param engine the dictionary the game is played on
+     * @param current the game rebuilt so far, or null before its first NEW_GAME record
+     * @param record the next recorded change
+     * @post Returns current with the change applied
+     * @return rebuilt game
+     * @throws IOException if the change cannot be applied exactly as it was recorded, so the rebuilt game would differ
+     */
+    private static GameState replay(Engine engine, GameState current, MoveJournal.Record record) throws IOException {
+        if (record.op != MoveJournal.NEW_GAME && current == null) throw new IOException("change recorded before the game started");
+        switch (record.op) {
+            case MoveJournal.NEW_GAME: {
+                String target = recordedWord(record.second);
+                return GameState.newGame(recordedWord(record.first), target, distanceTable(engine, target));
+            }
+            case MoveJournal.WORDS: {
+                String target = recordedWord(record.second);
+                return current.withStartWord(recordedWord(record.first)).withTargetWord(target, distanceTable(engine, target));
+            }
+            case MoveJournal.MOVE: {
+                String word = recordedWord(record.first);
+                if (!isValidWord(engine, word)) throw new IOException("move \"" + word + "\" is not in the dictionary");
+                return moved(engine, current, word);
+            }
+            case MoveJournal.UNDO:
+                if (current.getMoveHistory().isEmpty()) throw new IOException("undo recorded with no move to undo");
+                return current.withoutLastMove();
+            case MoveJournal.RESTART:
+                return current.restarted();
+            default:
+                throw new IOException("unknown operation " + record.op);
+        }
+    }
+
+    /**
+     * @param code a word code read from the journal
+     * @post Returns the recorded word
+     * @return decoded word
+     * @throws IOException if no word was recorded, because the word could not be encoded
+     */
+    private static String recordedWord(int code) throws IOException {
+        if (code == WordCodec.INVALID) throw new IOException("a word that could not be encoded was not recorded");
+        return WordCodec.decode(code);
+    }
+
+    /**
+     * @post If a journal is attached, it records the game as over and later changes are no longer recorded,
+     *       so the game is not resumed and compaction drops its records
+     */
+    public void detachJournal() {
+        synchronized (journalLock) {
+            MoveJournal journal = this.journal;
+            if (journal == null) return;
+            journal.end(journalGame);
+            this.journal = null;
+        }
+    }
+
+    /**
+     * @post Every change made to the game so far is on disk if a journal is attached; returns at once otherwise
+     * @throws IOException if the journal could not be written, or the calling thread was interrupted while waiting
+     */
+    public void sync() throws IOException {
+        MoveJournal journal = this.journal;
+        if (journal != null) journal.sync();
+    }
+
+    /**
+     * @post Returns true once the dictionary is available and a game can be played
+     * @return whether the dictionary has been loaded
+     */
+    public boolean isLoaded() {
+        return engine.loaded;
+    }
+
+    /**
+     * @post Returns the current game; the snapshot never changes, later moves publish new ones
+     * @return game state snapshot
+     */
+    public GameState getState() {
+        return state.get();
+    }
+
     /**
      * @param useRandomWords whether to randomly choose start and target words
      * @pre dictionary must contain at least 2 words if useRandomWords is true
-     * @post startWord and targetWord are initialized and observers are notified
+     * @post startWord and targetWord are initialized and listeners receive one NEW_GAME event
+     * @throws IllegalStateException if useRandomWords is true and no two words of the dictionary are connected
      */
     public void setRandomWords(boolean useRandomWords) {
         this.useRandomWords = useRandomWords;
+        Engine engine = this.engine;
+        if (!engine.loaded) return; // setDictionary starts the first game
 
+        GameState game;
         if (useRandomWords) {
-            assert dictionary != null && dictionary.size() >= 2 : "Dictionary must contain at least 2 words";
-            setRandomStartAndTargetWords();
+            assert engine.graph.size() >= 2 : "Dictionary must contain at least 2 words";
+            game = randomGame(engine);
         } else {
-            startWord = "WAST";
-            targetWord = "WEST";
+            game = GameState.newGame("WAST", "WEST", distanceTable(engine, "WEST"));
         }
 
-        assert startWord != null && targetWord != null : "Words must not be null";
+        assert game.getStartWord() != null && game.getTargetWord() != null : "Words must not be null";
 
-        setChanged();
-        notifyObservers("NEW_GAME");
+        // A new game replaces whatever was there
+        update(current -> game, MoveJournal.NEW_GAME);
+        prefetchHint(game);
+        publish(GameEvent.Type.NEW_GAME);
     }
 
     /**
-     * @pre dictionary must contain at least 2 words
-     * @post startWord and targetWord are assigned to two different words from dictionary
+     * @pre dictionary must contain two words connected by a ladder
+     * @post Returns a game on two different connected words, preferably with a ladder
+     *       length between PuzzleGenerator.DEFAULT_MIN_LENGTH and DEFAULT_MAX_LENGTH
+     * @return new game state
+     * @throws IllegalStateException if no two words of the dictionary are connected
      */
-    private void setRandomStartAndTargetWords() {
-        assert dictionary != null && dictionary.size() >= 2 : "Not enough words for random selection";
-
-        Random random = new Random();
-        this.startWord = dictionary.get(random.nextInt(dictionary.size()));
-        this.targetWord = dictionary.get(random.nextInt(dictionary.size()));
-        while (this.targetWord.equals(this.startWord)) {
-            this.targetWord = dictionary.get(random.nextInt(dictionary.size()));
+    private GameState randomGame(Engine engine) {
+        assert engine.graph.size() >= 2 : "Not enough words for random selection";
+
+        PuzzleGenerator.Puzzle puzzle;
+        synchronized (random) {
+            puzzle = engine.puzzleGenerator.next(random);
+            if (puzzle == null) {
+                // Small dictionaries may have no ladder in the preferred range; accept any solvable pair
+                puzzle = engine.puzzleGenerator.any(random);
+            }
+        }
+        if (puzzle == null) {
+            throw new IllegalStateException("Dictionary has no two words connected by a ladder");
         }
 
+        String startWord = puzzle.getStartWord();
+        String targetWord = puzzle.getTargetWord();
         assert !startWord.equals(targetWord) : "Start and target words must be different";
 
-        System.out.println("Generated random words: startWord=" + startWord + ", targetWord=" + targetWord);
-        setChanged();
-        notifyObservers("NEW_GAME");
+        if (EventLog.DEBUG) EventLog.debug("Generated random words: startWord=" + startWord + ", targetWord=" + targetWord);
+        return GameState.newGame(startWord, targetWord, distanceTable(engine, targetWord));
+    }
+
+    /**
+     * @param listener the listener to add
+     * @param delivery the thread its events are delivered on
+     * @pre listener and delivery must not be null
+     * @post listener receives every later GameEvent of this model
+     */
+    public void addGameEventListener(GameEventListener listener, GameEventBus.Delivery delivery) {
+        events.subscribe(listener, delivery);
+    }
+
+    /**
+     * @param listener a listener added earlier
+     * @post listener receives no further events
+     */
+    public void removeGameEventListener(GameEventListener listener) {
+        events.unsubscribe(listener);
+    }
+
+    /**
+     * @param action a player action made of several model calls
+     * @pre action must not be null
+     * @post The events raised by action are delivered once per event type after it completes
+     */
+    public void batch(Runnable action) {
+        events.batch(action);
+    }
+
+    private void publish(GameEvent.Type type) {
+        events.publish(new GameEvent(this, type));
     }
 
     public String getStartWord() {
-        return startWord;
+        return state.get().getStartWord();
     }
 
     public String getTargetWord() {
-        return targetWord;
+        return state.get().getTargetWord();
     }
 
     public String getCurrentWord() {
-        return currentWord;
+        return state.get().getCurrentWord();
     }
 
+    /**
+     * @post Returns the moves of the current game; the list is an immutable snapshot
+     * @return move history
+     */
     public List<String> getMoveHistory() {
-        return moveHistory;
+        return state.get().getMoveHistory();
     }
 
     public String getStatusMessage() {
-        return statusMessage;
+        return state.get().getStatusMessage();
     }
 
     /**
      * @param word the word to attempt moving to
      * @pre word must not be null; must be same length as previous word; dictionary must be loaded
-     * @post If valid, word is added to moveHistory; observers are notified
+     * @post If valid, word is added to moveHistory; listeners are notified
      * @return true if move is valid, false otherwise
      */
     public boolean makeMove(String word) {
         assert word != null : "Input word must not be null";
-        assert dictionary != null : "Dictionary must be initialized";
+        Engine engine = this.engine;
 
-        String lowerCaseWord = word.toLowerCase();
-        String previousWord = moveHistory.isEmpty() ? startWord : moveHistory.get(moveHistory.size() - 1);
-        assert previousWord != null : "Previous word must not be null";
-        assert lowerCaseWord.length() == previousWord.length() : "Word must be same length as previous";
-
-        if (lowerCaseWord.equals(previousWord.toLowerCase())) {
-            errorMessage = "No change!";
-            statusMessage = "NO CHANGE";
-            setChanged();
-            notifyObservers("NO CHANGE");
+        if (!engine.loaded) {
+            update(current -> current.withRejection("LOADING", "Dictionary is still loading"));
             return false;
         }
 
+        String lowerCaseWord = word.toLowerCase();
+        while (true) {
+            GameState current = state.get();
+            String previousWord = current.getPosition().toLowerCase();
+            assert lowerCaseWord.length() == previousWord.length() : "Word must be same length as previous";
+
+            GameEvent.Type rejection = judge(engine, lowerCaseWord, previousWord);
+            GameState next;
+            if (rejection != null) {
+                next = current.withRejection(rejection.name().replace('_', ' '), errorMessage(rejection));
+            } else {
+                next = moved(engine, current, lowerCaseWord);
+            }
+            boolean installed = rejection != null ? state.compareAndSet(current, next) : install(current, next, MoveJournal.MOVE);
+            if (!installed) continue; // another thread moved first; judge again
+
+            if (rejection != null) {
+                publish(rejection);
+                return false;
+            }
+            assert lowerCaseWord.equals(next.getMoveHistory().peek()) : "Move history must end with the new word";
+            prefetchHint(next);
+            publish(next.isWin() ? GameEvent.Type.GAME_WON : GameEvent.Type.VALID_MOVE);
+            return true;
+        }
+    }
+
+    /**
+     * @param engine the dictionary to check against
+     * @param lowerCaseWord the attempted move
+     * @param previousWord the word the move starts from
+     * @pre Both words must not be null
+     * @post Returns the reason the move is rejected, or null if it is valid
+     * @return rejection event type or null
+     */
+    private GameEvent.Type judge(Engine engine, String lowerCaseWord, String previousWord) {
+        if (lowerCaseWord.equals(previousWord)) {
+            return GameEvent.Type.NO_CHANGE;
+        }
+
         int diff = 0;
         for (int i = 0; i < previousWord.length(); i++) {
             if (i < lowerCaseWord.length() && lowerCaseWord.charAt(i) != previousWord.charAt(i)) {
@@ -124,74 +385,142 @@ public class Model extends Observable implements ModelInterface {
         }
 
         if (diff == 0) {
-            errorMessage = "Must change at least one letter!";
-            statusMessage = "NO LETTER CHANGED";
-            setChanged();
-            notifyObservers("NO LETTER CHANGED");
-            return false;
+            return GameEvent.Type.NO_LETTER_CHANGED;
         }
-
         if (diff > 1) {
-            errorMessage = "Must change only one letter at a time!";
-            statusMessage = "NOT ONE LETTER DIFFERENT";
-            setChanged();
-            notifyObservers("NOT ONE LETTER DIFFERENT");
-            return false;
+            return GameEvent.Type.NOT_ONE_LETTER_DIFFERENT;
+        }
+        if (!isValidWord(engine, lowerCaseWord)) {
+            return GameEvent.Type.NOT_IN_DICTIONARY;
         }
+        if (!isOneLetterDifferent(lowerCaseWord, previousWord)) {
+            return GameEvent.Type.NOT_ONE_LETTER_DIFFERENT;
+        }
+        return null;
+    }
 
-        if (!isValidWord(lowerCaseWord)) {
-            errorMessage = "Not in dictionary!";
-            statusMessage = "NOT IN DICTIONARY";
-            setChanged();
-            notifyObservers("NOT IN DICTIONARY");
-            return false;
+    private static String errorMessage(GameEvent.Type rejection) {
+        switch (rejection) {
+            case NO_CHANGE:
+                return "No change!";
+            case NO_LETTER_CHANGED:
+                return "Must change at least one letter!";
+            case NOT_IN_DICTIONARY:
+                return "Not in dictionary!";
+            default:
+                return "Must change only one letter at a time!";
         }
+    }
 
-        if (!isOneLetterDifferent(lowerCaseWord, previousWord)) {
-            errorMessage = "Must change only one letter!";
-            statusMessage = "NOT ONE LETTER DIFFERENT";
-            setChanged();
-            notifyObservers("NOT ONE LETTER DIFFERENT");
-            return false;
+    /**
+     * @param change computes the next state from the current one
+     * @pre change must be free of side effects, as it may run more than once
+     * @post The state has been replaced by change applied to the latest state
+     * @return the state that was installed
+     */
+    private GameState update(UnaryOperator<GameState> change) {
+        while (true) {
+            GameState current = state.get();
+            GameState next = change.apply(current);
+            if (state.compareAndSet(current, next)) return next;
         }
+    }
 
-        moveHistory.add(lowerCaseWord);
-        currentWord = "";
-        errorMessage = "";
-        statusMessage = lowerCaseWord.equals(targetWord.toLowerCase()) ? "GAME WON" : "VALID_MOVE";
+    /**
+     * @param change computes the next state from the current one
+     * @param op the journal operation the change is recorded as
+     * @pre change must be free of side effects, as it may run more than once
+     * @post The state has been replaced by change applied to the latest state, and the change is journaled
+     * @return the state that was installed
+     */
+    private GameState update(UnaryOperator<GameState> change, byte op) {
+        while (true) {
+            GameState current = state.get();
+            GameState next = change.apply(current);
+            if (install(current, next, op)) return next;
+        }
+    }
 
-        assert moveHistory.contains(lowerCaseWord) : "Move history must contain the new word";
+    /**
+     * @param current the state the change was computed from
+     * @param next the state to install
+     * @param op the journal operation the change is recorded as
+     * @post If the state was still current, it is replaced by next and, when a journal is attached, the change is appended to it
+     * @return whether next was installed
+     */
+    private boolean install(GameState current, GameState next, byte op) {
+        MoveJournal journal = this.journal;
+        if (journal == null) return state.compareAndSet(current, next);
+        // The journal must list this game's changes in the order they were installed
+        synchronized (journalLock) {
+            if (!state.compareAndSet(current, next)) return false;
+            journal(journal, op, next);
+            return true;
+        }
+    }
 
-        setChanged();
-        notifyObservers(statusMessage);
-        return true;
+    private void journal(MoveJournal journal, byte op, GameState next) {
+        switch (op) {
+            case MoveJournal.NEW_GAME:
+            case MoveJournal.WORDS:
+                journal.append(journalGame, op, WordCodec.encode(next.getStartWord()), WordCodec.encode(next.getTargetWord()));
+                break;
+            case MoveJournal.MOVE:
+                journal.append(journalGame, op, WordCodec.encode(next.getPreviousWord()), WordCodec.INVALID);
+                break;
+            default:
+                journal.append(journalGame, op, WordCodec.INVALID, WordCodec.INVALID);
+                break;
+        }
+    }
+
+    /**
+     * @param engine the dictionary the game is played on
+     * @param current the state before the move
+     * @param word an accepted move from the current position
+     * @pre word must be a valid move from the current position
+     * @post Returns current with word played, rated against the shortest ladder
+     * @return state after the move
+     */
+    private static GameState moved(Engine engine, GameState current, String word) {
+        short[] distances = current.distanceToTarget();
+        boolean optimal = distanceTo(engine, distances, current.getPosition()) == distanceTo(engine, distances, word) + 1;
+        String status = word.equalsIgnoreCase(current.getTargetWord()) ? "GAME WON" : "VALID_MOVE";
+        return current.withMove(word, optimal, status);
     }
 
     /**
      * @param word the word to check
      * @pre word is not null
-     * @post Returns true if word is in dictionary
+     * @post Returns true if word is in dictionary; never allocates
      * @return whether word exists in dictionary
      */
-    private boolean isValidWord(String word) {
+    private static boolean isValidWord(Engine engine, String word) {
         assert word != null : "Word must not be null";
-        return dictionary.contains(word);
+        return engine.graph.contains(WordCodec.encode(word));
     }
 
     /**
      * @pre dictionaryFile must be a valid path
-     * @post Returns list of lower-case words from dictionary
-     * @return list of dictionary words
+     * @post Returns the shared word graph of the four-letter words in the dictionary
+     * @return dictionary word graph
      */
-    private List<String> readWordsFromDictionary() {
+    private WordGraph readWordsFromDictionary() {
         assert dictionaryFile != null : "Dictionary file must not be null";
-        List<String> words = new ArrayList<>();
-        try (Stream<String> lines = Files.lines(Paths.get(dictionaryFile))) {
-            ((Stream<?>) lines).forEach(word -> words.add(word.toString().toLowerCase()));
+        try {
+            return DictionaryRegistry.acquire(dictionaryFile);
         } catch (IOException e) {
-            System.err.println("Error reading dictionary file: " + e.getMessage());
+            if (EventLog.ERROR) EventLog.error("Error reading dictionary file: " + e.getMessage());
+            return WordGraph.fromWords(Collections.emptyList());
         }
-        return words;
+    }
+
+    /**
+     * @post Returns the immutable word graph this game plays on, shared with every Model on the same file
+     * @return dictionary word graph
+     */
+    public WordGraph getDictionary() {
+        return engine.graph;
     }
 
     /**
@@ -201,17 +530,12 @@ public class Model extends Observable implements ModelInterface {
      * @post Returns true if words differ by exactly one letter
      * @return whether only one letter differs
      */
-    private boolean isOneLetterDifferent(String word, String previousWord) {
+    private static boolean isOneLetterDifferent(String word, String previousWord) {
         assert word != null && previousWord != null : "Words must not be null";
-        word = word.toLowerCase();
-        previousWord = previousWord.toLowerCase();
-        if (word.length() != previousWord.length()) return false;
-
-        int diff = 0;
-        for (int i = 0; i < previousWord.length(); i++) {
-            if (word.charAt(i) != previousWord.charAt(i)) diff++;
-        }
-        return diff == 1;
+        int code = WordCodec.encode(word);
+        int previousCode = WordCodec.encode(previousWord);
+        if (code == WordCodec.INVALID || previousCode == WordCodec.INVALID) return false;
+        return WordCodec.hamming(code, previousCode) == 1;
     }
 
     /**
@@ -219,57 +543,77 @@ public class Model extends Observable implements ModelInterface {
      * @return whether the game has been won
      */
     public boolean isWin() {
-        if (moveHistory.isEmpty()) return false;
-        return moveHistory.get(moveHistory.size() - 1).equalsIgnoreCase(targetWord);
+        return state.get().isWin();
     }
 
     /**
-     * @post Game state is reset and observers are notified
+     * @post Game state is reset and listeners are notified
      */
     public void restartGame() {
-        moveHistory.clear();
-        currentWord = "";
-        statusMessage = "";
-        errorMessage = "";
-        setChanged();
-        notifyObservers("NEW_GAME");
+        if (!engine.loaded) return;
+        GameState next = update(GameState::restarted, MoveJournal.RESTART);
+        prefetchHint(next);
+        publish(GameEvent.Type.NEW_GAME);
     }
 
     /**
-     * @post Last move is undone if any
+     * @post Last move is undone if any, and can be redone until a different move is made
      */
     public void undoMove() {
-        if (!moveHistory.isEmpty()) {
-            moveHistory.remove(moveHistory.size() - 1);
-            currentWord = "";
-            statusMessage = "";
-            setChanged();
-            notifyObservers();
+        while (true) {
+            GameState current = state.get();
+            if (current.getMoveHistory().isEmpty()) return;
+            GameState next = current.withoutLastMove();
+            if (install(current, next, MoveJournal.UNDO)) {
+                prefetchHint(next);
+                publish(GameEvent.Type.MOVE_UNDONE);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @post The most recently undone move is made again, if there is one and no other move was made since
+     * @return true if a move was redone
+     */
+    public boolean redoMove() {
+        Engine engine = this.engine;
+        while (true) {
+            GameState current = state.get();
+            if (!current.canRedo()) return false;
+            // Redoing is making the undone move again, and is journaled as such
+            GameState next = moved(engine, current, current.getRedoHistory().peek());
+            if (install(current, next, MoveJournal.MOVE)) {
+                prefetchHint(next);
+                publish(next.isWin() ? GameEvent.Type.GAME_WON : GameEvent.Type.MOVE_REDONE);
+                return true;
+            }
         }
     }
 
     /**
      * @param startWord the new start word
      * @pre startWord must not be null
-     * @post startWord is updated and observers are notified
+     * @post startWord is updated and listeners are notified
      */
     public void setStartWord(String startWord) {
         assert startWord != null : "Start word must not be null";
-        this.startWord = startWord;
-        setChanged();
-        notifyObservers();
+        GameState next = update(current -> current.withStartWord(startWord), MoveJournal.WORDS);
+        prefetchHint(next);
+        publish(GameEvent.Type.WORDS_CHANGED);
     }
 
     /**
      * @param targetWord the new target word
      * @pre targetWord must not be null
-     * @post targetWord is updated and observers are notified
+     * @post targetWord is updated and listeners are notified
      */
     public void setTargetWord(String targetWord) {
         assert targetWord != null : "Target word must not be null";
-        this.targetWord = targetWord;
-        setChanged();
-        notifyObservers();
+        short[] distances = distanceTable(engine, targetWord);
+        GameState next = update(current -> current.withTargetWord(targetWord, distances), MoveJournal.WORDS);
+        prefetchHint(next);
+        publish(GameEvent.Type.WORDS_CHANGED);
     }
 
     /**
@@ -278,7 +622,7 @@ public class Model extends Observable implements ModelInterface {
      * @return last word in history or empty string
      */
     public String getpreviousword() {
-        return (moveHistory == null || moveHistory.isEmpty()) ? "" : moveHistory.get(moveHistory.size() - 1);
+        return state.get().getPreviousWord();
     }
 
     /**
@@ -286,74 +630,183 @@ public class Model extends Observable implements ModelInterface {
      * @return error message
      */
     public String getErrorMessage() {
-        return errorMessage;
+        return state.get().getErrorMessage();
     }
 
     /**
      * @param start start word
      * @param target target word
      * @pre Both words must be valid dictionary words and same length
-     * @post Returns a valid transformation path from start to target or null
+     * @post Returns a valid transformation path from start to target or null; results are cached per dictionary,
+     *       and concurrent requests for the same pair share one search
      * @return path from start to target
      */
     public List<String> findPath(String start, String target) {
-        assert isValidWord(start) && isValidWord(target) : "Words must be valid dictionary words";
+        Engine engine = this.engine;
+        if (!engine.loaded) return null;
+        assert isValidWord(engine, start) && isValidWord(engine, target) : "Words must be valid dictionary words";
         assert start.length() == target.length() : "Words must be the same length";
 
-        start = start.toLowerCase();
-        target = target.toLowerCase();
+        WordGraph dictionary = engine.graph;
+        int startId = dictionary.indexOf(start);
+        int targetId = dictionary.indexOf(target);
+        if (startId < 0 || targetId < 0) return null;
 
-        Queue<String> queue = new LinkedList<>();
-        queue.offer(start);
+        // Concurrent requests for the same pair, from any Model on this dictionary, share one search
+        SearchMode mode = searchMode;
+        int[] ids = dictionary.pathCache().computeIfAbsent(startId, targetId, (from, to) -> engine.pathFinder.findPath(from, to, mode));
+        if (ids == PathCache.NO_PATH) return null;
 
-        Set<String> visited = new HashSet<>();
-        visited.add(start);
+        List<String> path = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            path.add(dictionary.word(id));
+        }
 
-        Map<String, String> parentMap = new HashMap<>();
-        parentMap.put(start, null);
+        assert path.get(0).equalsIgnoreCase(start) && path.get(path.size() - 1).equalsIgnoreCase(target) : "Path must be valid";
 
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
+        return path;
+    }
 
-            if (current.equals(target)) {
-                List<String> path = new ArrayList<>();
-                String node = target;
-                while (node != null) {
-                    path.add(0, node);
-                    node = parentMap.get(node);
-                }
+    /**
+     * @param searchMode the strategy findPath should use
+     * @pre searchMode must not be null
+     * @post Subsequent findPath calls use the given strategy
+     */
+    public void setSearchMode(SearchMode searchMode) {
+        assert searchMode != null : "Search mode must not be null";
+        this.searchMode = searchMode;
+    }
 
-                assert path.get(0).equals(start) && path.get(path.size() - 1).equals(target) : "Path must be valid";
+    /**
+     * @post Returns the strategy used by findPath
+     * @return current search mode
+     */
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
 
-                return path;
-            }
+    /**
+     * @param enabled whether to search for the next hint in the background after every change
+     * @post If disabled, any pending prefetch is discarded and hints are searched only when requested
+     */
+    public void setHintPrefetch(boolean enabled) {
+        prefetchHints = enabled;
+        if (!enabled) engine.hints.invalidate();
+    }
 
-            for (String neighbor : getNeighbors(current)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.offer(neighbor);
-                    parentMap.put(neighbor, current);
-                }
-            }
+    /**
+     * @param targetWord the target of the game
+     * @pre targetWord must not be null
+     * @post Returns the distance from every word to targetWord, or null if targetWord is not a dictionary word
+     * @return distance table
+     */
+    private static short[] distanceTable(Engine engine, String targetWord) {
+        int targetId = engine.graph.indexOf(targetWord);
+        // The word graph is undirected, so one search from the target measures every word's distance to it
+        return targetId < 0 ? null : engine.graph.distancesFrom(targetId);
+    }
+
+    /**
+     * @param word any word
+     * @post Returns the number of moves from word to the target of distances, or -1 if unknown or unreachable
+     * @return distance to the target
+     */
+    private static int distanceTo(Engine engine, short[] distances, String word) {
+        if (word == null) return -1;
+        int id = engine.graph.indexOf(word);
+        return distances == null || id < 0 ? -1 : distances[id];
+    }
+
+    /**
+     * @post Returns the fewest moves still needed from the current word, or -1 if the target cannot be reached
+     * @return moves remaining
+     */
+    public int getMovesRemaining() {
+        GameState current = state.get();
+        return distanceTo(engine, current.distanceToTarget(), current.getPosition());
+    }
+
+    /**
+     * @post Returns true if the last accepted move brought the player one step closer along a shortest path
+     * @return whether the last move was optimal
+     */
+    public boolean isLastMoveOptimal() {
+        return state.get().isLastMoveOptimal();
+    }
+
+    /**
+     * @post Returns a neighbor of the current word that lies on a shortest path to targetWord, or null if there is none
+     * @return next best move
+     */
+    public String getNextMoveHint() {
+        Engine engine = this.engine;
+        if (!engine.loaded) return null;
+        GameState current = state.get();
+        int next = nextStep(engine, current.distanceToTarget(), engine.graph.indexOf(current.getPosition()));
+        return next < 0 ? null : engine.graph.word(next);
+    }
+
+    /**
+     * @post Returns a shortest path from the current word to targetWord, or null if there is none;
+     *       usually served from the background prefetch started by the last move
+     * @return hint path that takes the player's progress into account
+     */
+    public List<String> getHintPath() {
+        Engine engine = this.engine;
+        if (!engine.loaded) return null;
+        GameState current = state.get();
+        String position = current.getPosition();
+        if (!isValidWord(engine, position) || !isValidWord(engine, current.getTargetWord())) return null;
+        return findPath(position, current.getTargetWord());
+    }
+
+    /**
+     * @param game the state just published
+     * @post A search from the current word to targetWord runs in the background, replacing any earlier one,
+     *       so that the next hint is served without searching
+     */
+    private void prefetchHint(GameState game) {
+        Engine engine = this.engine;
+        int current = engine.graph.indexOf(game.getPosition());
+        int target = engine.graph.indexOf(game.getTargetWord());
+        if (!prefetchHints || current < 0 || target < 0) {
+            engine.hints.invalidate();
+        } else {
+            engine.hints.prefetch(current, target, searchMode);
         }
+    }
 
-        return null;
+    /**
+     * @param id word id, possibly -1
+     * @post Returns a neighbor one step closer to the target of distances, or -1 if id is the target or cannot reach it
+     * @return next word id on a shortest path
+     */
+    private static int nextStep(Engine engine, short[] distances, int id) {
+        if (id < 0 || distances == null || distances[id] <= 0) return -1;
+        WordGraph dictionary = engine.graph;
+        for (int k = dictionary.adjacencyStart(id); k < dictionary.adjacencyEnd(id); k++) {
+            int neighbor = dictionary.adjacent(k);
+            if (distances[neighbor] == distances[id] - 1) return neighbor;
+        }
+        return -1;
     }
 
     /**
-     * @param word the word to get neighbors for
-     * @pre word must not be null
-     * @post Returns a list of one-letter-different words in dictionary
-     * @return list of neighbor words
+     * The dictionary and the searchers built on it, replaced as a whole when the dictionary is loaded.
      */
-    private List<String> getNeighbors(String word) {
-        assert word != null : "Word must not be null";
-        List<String> neighbors = new ArrayList<>();
-        for (String dictWord : dictionary) {
-            if (isOneLetterDifferent(word, dictWord)) {
-                neighbors.add(dictWord);
-            }
+    private static final class Engine {
+        private final WordGraph graph;
+        private final PuzzleGenerator puzzleGenerator;
+        private final PathFinder pathFinder;
+        private final HintPrefetcher hints;
+        private final boolean loaded;
+
+        private Engine(WordGraph graph, boolean loaded) {
+            this.graph = graph;
+            this.puzzleGenerator = new PuzzleGenerator(graph, PuzzleGenerator.DEFAULT_MIN_LENGTH, PuzzleGenerator.DEFAULT_MAX_LENGTH);
+            this.pathFinder = new PathFinder(graph);
+            this.hints = new HintPrefetcher(pathFinder, graph.pathCache());
+            this.loaded = loaded;
         }
-        return neighbors;
     }
 }
@@ -1,6 +1,6 @@
 package Model;
+import java.io.IOException;
 import java.util.List;
-import java.util.Observer;
 
 public interface ModelInterface {
     String getStartWord();
@@ -12,11 +12,23 @@ public interface ModelInterface {
     boolean isWin();
     void restartGame();
     void undoMove();
+    boolean redoMove();
     String getErrorMessage();
-    void addObserver(Observer o);
+    void addGameEventListener(GameEventListener listener, GameEventBus.Delivery delivery);
+    void removeGameEventListener(GameEventListener listener);
+    void batch(Runnable action);
     List<String> findPath(String startWord, String targetWord);
     void setRandomWords(boolean enableRandomWord);
     void setStartWord(String east);
     void setTargetWord(String west);
     String getpreviousword();
+    int getMovesRemaining();
+    boolean isLastMoveOptimal();
+    String getNextMoveHint();
+    List<String> getHintPath();
+    boolean isLoaded();
+    GameState getState();
+    boolean resume(MoveJournal journal, int game);
+    void detachJournal();
+    void sync() throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package Model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, persistent list of moves: every version is a snapshot that shares all earlier moves
+ * with the versions it was derived from.
+ *
+ * <p>Each version is a node holding the latest move and a link to the previous version, so push, pop,
+ * peek and taking a snapshot are O(1) and never copy. Reading the i-th move walks back from the latest
+ * one, which costs O(size - i): access near the end of the ladder, where renderers and diffing look,
+ * is constant time. Full iteration is O(size).</p>
+ */
+public final class MoveHistory extends AbstractList<String> {
+
+    public static final MoveHistory EMPTY = new MoveHistory(null, null, 0);
+
+    private final String last;
+    private final MoveHistory previous;
+    private final int size;
+
+    private MoveHistory(String last, MoveHistory previous, int size) {
+        this.last = last;
+        this.previous = previous;
+        this.size = size;
+    }
+
+    /**
+     * @param word the move to append
+     * @pre word must not be null
+     * @post Returns this history with word appended; this history is unchanged
+     * @return longer history
+     */
+    public MoveHistory push(String word) {
+        assert word != null : "Word must not be null";
+        return new MoveHistory(word, this, size + 1);
+    }
+
+    /**
+     * @pre the history must not be empty
+     * @post Returns this history without its latest move; this history is unchanged
+     * @return shorter history
+     */
+    public MoveHistory pop() {
+        if (size == 0) throw new NoSuchElementException("No moves to pop");
+        return previous;
+    }
+
+    /**
+     * @post Returns the latest move, or null if there is none
+     * @return latest move
+     */
+    public String peek() {
+        return last;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        MoveHistory node = this;
+        for (int steps = size - 1 - index; steps > 0; steps--) {
+            node = node.previous;
+        }
+        return node.last;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<String> listIterator(int index) {
+        // Nodes link backwards, so collect them once and iterate over the array
+        return Collections.unmodifiableList(Arrays.asList(words())).listIterator(index);
+    }
+
+    private String[] words() {
+        String[] words = new String[size];
+        MoveHistory node = this;
+        for (int i = size - 1; i >= 0; i--) {
+            words[i] = node.last;
+            node = node.previous;
+        }
+        return words;
+    }
+}
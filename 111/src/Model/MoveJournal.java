@@ -0,0 +1,511 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only binary log of the accepted changes to any number of games, so they can be rebuilt after the
+ * program exits or crashes (see {@link Model#resume}).
+ *
+ * <p>Each record is {@value #RECORD_SIZE} bytes: a game id, an operation, up to two words as
+ * {@link WordCodec} codes and a checksum. Appending only copies the record into memory. A single writer
+ * thread writes everything appended since its last pass with one {@link FileChannel} write followed by
+ * one force, so the changes of many concurrent games share each fsync (group commit). {@link #sync()}
+ * waits until everything appended so far is on disk.</p>
+ *
+ * <p>Opening a journal reads its records back. A torn or corrupt tail, as left by a crash in the middle of
+ * a write, is cut off, and appending continues after the last intact record.</p>
+ *
+ * <p>Only the records that rebuild each live game are kept in memory: a new game or a restart starts its
+ * list over, and an ended game is dropped. Once the file holds more than twice as many records as that,
+ * the writer compacts it: it writes the live records to a new file, forces it and renames it over the
+ * journal in one atomic step, so a crash leaves either the old file or the new one.</p>
+ */
+public final class MoveJournal implements Closeable {
+
+    static final byte NEW_GAME = 1;
+    static final byte WORDS = 2;
+    static final byte MOVE = 3;
+    static final byte UNDO = 4;
+    static final byte RESTART = 5;
+    static final byte END = 6;
+
+    static final int RECORD_SIZE = 16;
+    private static final int MAGIC = 0x57564A31; // "WVJ1"
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_BUFFER = RECORD_SIZE * 256;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static final long COMPACT_MIN_RECORDS = 4096;
+
+    private final Path file;
+    private volatile FileChannel channel; // Replaced by the writer when it compacts the file
+    private final Set<Integer> recoveredGames;
+    private final AtomicInteger nextGame;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appendedSignal = lock.newCondition();
+    private final Condition durableSignal = lock.newCondition();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER);
+    private final Map<Integer, Tail> tails;
+    private long liveRecords;
+    private long fileRecords;
+    private long compactAt = COMPACT_MIN_RECORDS;
+    private long appended;
+    private long durable;
+    private long syncs;
+    private long compactions;
+    private IOException failure;
+    private boolean closed;
+    private final Thread writer;
+
+    private MoveJournal(Path file, FileChannel channel, Map<Integer, Tail> tails, long fileRecords) {
+        this.file = file;
+        this.channel = channel;
+        this.tails = tails;
+        this.fileRecords = fileRecords;
+        for (Tail tail : tails.values()) {
+            liveRecords += tail.records.size();
+        }
+        this.recoveredGames = Collections.unmodifiableSet(new LinkedHashSet<>(tails.keySet()));
+        this.nextGame = new AtomicInteger(tails.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1);
+        this.writer = new Thread(this::writeLoop, "move-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * @param file the journal file; created if it does not exist
+     * @pre file must not be null
+     * @post Returns an open journal holding the games recorded in file, positioned after its last intact record
+     * @return open journal
+     * @throws IOException if file cannot be opened or is not a move journal
+     */
+    public static MoveJournal open(Path file) throws IOException {
+        assert file != null : "Journal file must not be null";
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(RECORD_SIZE);
+                header.flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                channel.force(true);
+                size = HEADER_SIZE;
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                channel.read(header, 0);
+                header.flip();
+                if (header.getInt() != MAGIC || header.getInt() != RECORD_SIZE) {
+                    throw new IOException("Not a move journal: " + file);
+                }
+            }
+
+            Map<Integer, Tail> games = new LinkedHashMap<>();
+            long end = readRecords(channel, size, games);
+            if (end < size) {
+                // Whatever follows the last intact record was never fully written
+                if (EventLog.WARN) EventLog.warn("Move journal " + file + ": dropped " + (size - end) + " bytes of torn records");
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+            return new MoveJournal(file, channel, games, (end - HEADER_SIZE) / RECORD_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Returns the offset just past the last intact record
+    private static long readRecords(FileChannel channel, long size, Map<Integer, Tail> games) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        long offset = HEADER_SIZE;
+        while (offset + RECORD_SIZE <= size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (size - offset) / RECORD_SIZE * RECORD_SIZE));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) break;
+            }
+            buffer.flip();
+            if (buffer.remaining() < RECORD_SIZE) return offset; // The file shrank while being read
+            while (buffer.remaining() >= RECORD_SIZE) {
+                int game = buffer.getInt();
+                byte op = buffer.get();
+                buffer.get();
+                short check = buffer.getShort();
+                int first = buffer.getInt();
+                int second = buffer.getInt();
+                if (op < NEW_GAME || op > END || check != checksum(game, op, first, second)) return offset;
+                track(games, game, new Record(op, first, second));
+                offset += RECORD_SIZE;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * @post Returns the ids of the games found in the file when it was opened that had not ended
+     * @return recovered game ids, in order of first appearance
+     */
+    public Set<Integer> getRecoveredGames() {
+        return recoveredGames;
+    }
+
+    /**
+     * @param game a game id
+     * @post Returns the records that rebuild game as recorded so far, in order; empty if there are none
+     * @return the game's live records
+     */
+    List<Record> records(int game) {
+        lock.lock();
+        try {
+            Tail tail = tails.get(game);
+            return tail == null ? Collections.emptyList() : new ArrayList<>(tail.records);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param game a game id
+     * @post The game is recorded as over: it is no longer recovered, and compaction drops its records
+     */
+    public void end(int game) {
+        append(game, END, WordCodec.INVALID, WordCodec.INVALID);
+    }
+
+    /**
+     * @post Returns a game id not used by any recovered game nor returned before
+     * @return fresh game id
+     */
+    public int newGameId() {
+        return nextGame.getAndIncrement();
+    }
+
+    /**
+     * @param game the game the change belongs to
+     * @param op the operation
+     * @param first first word code, or WordCodec.INVALID if the operation has none
+     * @param second second word code, or WordCodec.INVALID if the operation has none
+     * @post The record is queued for the writer; returns at once, without waiting for the disk
+     */
+    void append(int game, byte op, int first, int second) {
+        lock.lock();
+        try {
+            if (closed || failure != null) return; // Nothing more can be saved; a failure has been reported
+            if (pending.remaining() < RECORD_SIZE) {
+                ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                larger.put(pending);
+                pending = larger;
+            }
+            pending.putInt(game).put(op).put((byte) 0).putShort(checksum(game, op, first, second)).putInt(first).putInt(second);
+            liveRecords += track(tails, game, new Record(op, first, second));
+            appended++;
+            appendedSignal.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @post Every record appended before this call is on disk
+     * @throws IOException if the journal could not be written, or the calling thread was interrupted while waiting
+     */
+    public void sync() throws IOException {
+        lock.lock();
+        try {
+            long target = appended;
+            while (durable < target && failure == null) {
+                try {
+                    durableSignal.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the move journal");
+                }
+            }
+            if (failure != null) throw failure;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @post Returns the number of records in the file
+     * @return durable record count
+     */
+    public long getRecordCount() {
+        lock.lock();
+        try {
+            return fileRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @post Returns how many times the file has been compacted since it was opened
+     * @return compaction count
+     */
+    public long getCompactionCount() {
+        lock.lock();
+        try {
+            return compactions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @post Returns how many times the writer has forced the file to disk; at most one per record, usually far fewer
+     * @return fsync count
+     */
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @post The journal is closed when the JVM shuts down, so records appended just before exit are kept
+     */
+    public void closeOnExit() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "move-journal-close"));
+    }
+
+    /**
+     * @post Everything appended has been written and forced, and the file is closed; later appends are ignored
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            appendedSignal.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            if (EventLog.ERROR) EventLog.error("Could not close move journal " + file + ": " + e.getMessage());
+        }
+    }
+
+    // The only thread that writes to the channel
+    private void writeLoop() {
+        ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER);
+        while (true) {
+            long batchEnd;
+            ByteBuffer image = null;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    appendedSignal.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) return; // Closed and fully written
+                // Swap buffers, so appends continue into the other one while this batch is written
+                ByteBuffer batch = pending;
+                pending = writing;
+                writing = batch;
+                batchEnd = appended;
+                long records = fileRecords + writing.position() / RECORD_SIZE;
+                // The tails already include this batch, so a compacted file replaces writing it
+                if (records >= compactAt && records > 2 * liveRecords) image = image();
+            } finally {
+                lock.unlock();
+            }
+
+            long written = writing.position() / RECORD_SIZE;
+            boolean compacted = false;
+            if (image != null) {
+                written = (image.remaining() - HEADER_SIZE) / RECORD_SIZE;
+                try {
+                    replaceFile(image);
+                    compacted = true;
+                } catch (IOException e) {
+                    // The old file is untouched, so the batch is appended to it as usual
+                    if (EventLog.WARN) EventLog.warn("Could not compact move journal " + file + ": " + e.getMessage());
+                    written = writing.position() / RECORD_SIZE;
+                }
+            }
+            IOException error = null;
+            if (!compacted) {
+                try {
+                    writing.flip();
+                    while (writing.hasRemaining()) {
+                        channel.write(writing);
+                    }
+                    channel.force(false);
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            writing.clear();
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                    pending.clear();
+                } else {
+                    durable = batchEnd;
+                    syncs++;
+                    fileRecords = compacted ? written : fileRecords + written;
+                    if (compacted) compactions++;
+                    // Also backs off after a failed compaction, so it is not retried on every batch
+                    if (image != null) compactAt = Math.max(COMPACT_MIN_RECORDS, 2 * fileRecords);
+                }
+                durableSignal.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                if (EventLog.ERROR) EventLog.error("Move journal " + file + " failed; moves are no longer saved: " + error.getMessage());
+                return;
+            }
+        }
+    }
+
+    // Returns a complete journal file holding only the live records; called with the lock held
+    private ByteBuffer image() {
+        ByteBuffer image = ByteBuffer.allocate((int) (HEADER_SIZE + liveRecords * RECORD_SIZE));
+        image.putInt(MAGIC).putInt(RECORD_SIZE);
+        for (Map.Entry<Integer, Tail> entry : tails.entrySet()) {
+            int game = entry.getKey();
+            for (Record record : entry.getValue().records) {
+                image.putInt(game).put(record.op).put((byte) 0).putShort(checksum(game, record.op, record.first, record.second))
+                        .putInt(record.first).putInt(record.second);
+            }
+        }
+        image.flip();
+        return image;
+    }
+
+    // Writes image to a new file and renames it over the journal; afterwards the channel appends to the new file
+    private void replaceFile(ByteBuffer image) throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            while (image.hasRemaining()) {
+                out.write(image);
+            }
+            out.force(true);
+            Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            out.close();
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+        forceDirectory();
+        // The open channel follows the renamed file
+        FileChannel old = channel;
+        channel = out;
+        try {
+            old.close();
+        } catch (IOException e) {
+            if (EventLog.WARN) EventLog.warn("Could not close replaced move journal " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Makes the rename itself durable where the platform allows opening a directory
+    private void forceDirectory() {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) return;
+        try (FileChannel handle = FileChannel.open(directory, StandardOpenOption.READ)) {
+            handle.force(true);
+        } catch (IOException e) {
+            if (EventLog.DEBUG) EventLog.debug("Could not force directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param tails the live records of each game, updated in place
+     * @param game the game the record belongs to
+     * @param record the next record of game
+     * @post tails holds just enough of game's records to rebuild it
+     * @return the change in the number of live records
+     */
+    private static int track(Map<Integer, Tail> tails, int game, Record record) {
+        Tail tail = tails.get(game);
+        int before = tail == null ? 0 : tail.records.size();
+        if (record.op == END) {
+            tails.remove(game);
+            return -before;
+        }
+        if (tail == null) {
+            tail = new Tail();
+            tails.put(game, tail);
+        }
+        if (record.op == NEW_GAME || record.op == RESTART) {
+            // Either way the game starts over from its start word, so nothing recorded before matters
+            tail.records.clear();
+            tail.records.add(record.op == NEW_GAME ? record : new Record(NEW_GAME, tail.start, tail.target));
+        } else {
+            tail.records.add(record);
+        }
+        if (record.op == NEW_GAME || record.op == WORDS) {
+            tail.start = record.first;
+            tail.target = record.second;
+        }
+        return tail.records.size() - before;
+    }
+
+    private static short checksum(int game, byte op, int first, int second) {
+        int hash = ((game * 31 + op) * 31 + first) * 31 + second;
+        hash ^= hash >>> 16;
+        return (short) (hash ^ 0x5A5A);
+    }
+
+    /**
+     * The live records of one game, and its current words.
+     */
+    private static final class Tail {
+        private final List<Record> records = new ArrayList<>();
+        private int start = WordCodec.INVALID;
+        private int target = WordCodec.INVALID;
+    }
+
+    /**
+     * One recorded change: an operation and its word codes.
+     */
+    static final class Record {
+        final byte op;
+        final int first;
+        final int second;
+
+        Record(byte op, int first, int second) {
+            this.op = op;
+            this.first = first;
+            this.second = second;
+        }
+    }
+}
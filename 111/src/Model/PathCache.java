@@ -0,0 +1,226 @@
+package Model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, thread-safe LRU cache of solved ladders, keyed by the pair of word ids.
+ *
+ * <p>Every word graph owns one cache (see {@link WordGraph#pathCache()}), so a changed dictionary,
+ * which loads as a new graph, starts with an empty cache. The graph is undirected, so a pair and its
+ * reverse share one entry. Pairs proven to have no ladder are cached as well.</p>
+ *
+ * <p>{@link #computeIfAbsent} also coalesces concurrent misses: while one thread searches for a pair,
+ * other threads asking for the same pair, in either direction, wait for its result instead of
+ * searching again, so a burst of identical requests costs one search per distinct pair.</p>
+ */
+public final class PathCache {
+
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    /**
+     * Returned by get for a pair that is known to have no ladder.
+     */
+    public static final int[] NO_PATH = new int[0];
+
+    /**
+     * A search for the ladder between two word ids.
+     */
+    @FunctionalInterface
+    public interface Search {
+        /**
+         * @return the shortest path from start to target, or null if there is none
+         */
+        int[] findPath(int start, int target);
+    }
+
+    private final LinkedHashMap<Long, int[]> entries;
+    private final ConcurrentHashMap<Long, CompletableFuture<int[]>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong searches = new AtomicLong();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public PathCache(int capacity) {
+        assert capacity > 0 : "Capacity must be positive";
+        this.entries = new LinkedHashMap<Long, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                if (size() <= capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param start start word id
+     * @param target target word id
+     * @post Returns the cached path from start to target, NO_PATH if the pair has no ladder,
+     *       or null if the pair is not cached; the returned array must not be modified
+     * @return cached path, NO_PATH or null
+     */
+    public synchronized int[] get(int start, int target) {
+        int[] path = entries.get(key(start, target));
+        if (path == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return orient(path, start, target);
+    }
+
+    /**
+     * @param start start word id
+     * @param target target word id
+     * @post Returns true if the pair is cached or a search for it is running; the hit and miss counters are unchanged
+     * @return whether asking for the pair would not start a new search
+     */
+    public boolean contains(int start, int target) {
+        Long key = key(start, target);
+        if (inFlight.containsKey(key)) return true;
+        synchronized (this) {
+            return entries.containsKey(key);
+        }
+    }
+
+    /**
+     * @param start start word id
+     * @param target target word id
+     * @param search finds the path on a miss; must be safe to call from any thread
+     * @pre search must not be null
+     * @post Returns the path as get would, searching at most once for all threads that miss on the pair at the same time;
+     *       the result is cached and the returned array must not be modified
+     * @return path from start to target, or NO_PATH
+     * @throws CancellationException if the calling thread is interrupted while searching or waiting
+     */
+    public int[] computeIfAbsent(int start, int target, Search search) {
+        assert search != null : "Search must not be null";
+        int[] cached = get(start, target);
+        if (cached != null) return cached;
+
+        Long key = key(start, target);
+        while (true) {
+            CompletableFuture<int[]> own = new CompletableFuture<>();
+            CompletableFuture<int[]> running = inFlight.putIfAbsent(key, own);
+            if (running == null) {
+                return orient(lead(key, start, target, own, search), start, target);
+            }
+            coalesced.incrementAndGet();
+            try {
+                return orient(running.get(), start, target);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for path");
+            } catch (ExecutionException e) {
+                // The searching thread was cancelled; take over the search. Any other failure is shared
+                if (!(e.getCause() instanceof CancellationException)) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    // Searches for the pair on behalf of every thread waiting on own, and returns the path in stored orientation
+    private int[] lead(Long key, int start, int target, CompletableFuture<int[]> own, Search search) {
+        try {
+            int[] stored;
+            synchronized (this) {
+                stored = entries.get(key); // A search that finished just before this one started
+            }
+            if (stored == null) {
+                searches.incrementAndGet();
+                int[] path = search.findPath(start, target);
+                stored = path == null ? NO_PATH : start <= target ? path : reverse(path);
+                synchronized (this) {
+                    entries.put(key, stored);
+                }
+            }
+            own.complete(stored);
+            return stored;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * @param start start word id
+     * @param target target word id
+     * @param path the shortest path from start to target, or null if there is none
+     * @post The result is cached, evicting the least recently used pair if the cache is full
+     */
+    public synchronized void put(int start, int target, int[] path) {
+        int[] stored = path == null ? NO_PATH : start <= target ? path : reverse(path);
+        entries.put(key(start, target), stored);
+    }
+
+    /**
+     * @post The cache is empty; the counters are kept
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @post Returns how many misses waited for another thread's search instead of searching
+     * @return coalesced request count
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @post Returns how many searches computeIfAbsent has run
+     * @return search count
+     */
+    public long getSearches() {
+        return searches.get();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PathCache[size=" + entries.size() + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", coalesced=" + coalesced.get() + ", searches=" + searches.get() + "]";
+    }
+
+    private static int[] orient(int[] stored, int start, int target) {
+        return stored == NO_PATH || start <= target ? stored : reverse(stored);
+    }
+
+    private static Long key(int start, int target) {
+        return ((long) Math.min(start, target) << 32) | Math.max(start, target);
+    }
+
+    private static int[] reverse(int[] path) {
+        int[] reversed = new int[path.length];
+        for (int i = 0; i < path.length; i++) {
+            reversed[i] = path[path.length - 1 - i];
+        }
+        return reversed;
+    }
+}
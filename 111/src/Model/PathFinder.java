@@ -0,0 +1,265 @@
+package Model;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Shortest-path searches over a {@link WordGraph}, working purely on word ids.
+ * Every {@link SearchMode} returns a shortest path; they only differ in how much of the graph they visit.
+ *
+ * <p>Searches borrow a pooled {@link SearchScratch}, so the only allocation per call is the returned path.
+ * A PathFinder holds no mutable state and can be shared between threads.</p>
+ *
+ * <p>Searches poll the calling thread's interrupt flag every few thousand words, so a search
+ * running on a worker thread stops soon after the worker is cancelled.</p>
+ */
+public final class PathFinder {
+
+    private static final int NO_PARENT = -1;
+    private static final int ID_BITS = 20;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final int INTERRUPT_CHECK_MASK = (1 << 12) - 1;
+
+    private final WordGraph graph;
+
+    public PathFinder(WordGraph graph) {
+        assert graph != null : "Graph must not be null";
+        this.graph = graph;
+    }
+
+    /**
+     * @param start start word id
+     * @param target target word id
+     * @param mode the search strategy to use
+     * @pre Both ids must be valid in the graph and mode must not be null
+     * @post Returns the word ids of a shortest path from start to target, or null if none exists
+     * @return path of word ids
+     * @throws CancellationException if the calling thread is interrupted during the search; the interrupt flag stays set
+     */
+    public int[] findPath(int start, int target, SearchMode mode) {
+        assert start >= 0 && start < graph.size() && target >= 0 && target < graph.size() : "Ids must be valid";
+        if (!graph.connected(start, target)) return null;
+        if (start == target) return new int[]{start};
+        SearchScratch scratch = SearchScratch.acquire(graph.size());
+        try {
+            switch (mode) {
+                case BFS:
+                    return breadthFirst(scratch, start, target);
+                case A_STAR_HAMMING:
+                    return aStar(scratch, start, target, false);
+                case A_STAR_LANDMARKS:
+                    return aStar(scratch, start, target, true);
+                default:
+                    return bidirectional(scratch, start, target);
+            }
+        } finally {
+            SearchScratch.release(scratch);
+        }
+    }
+
+    private int[] breadthFirst(SearchScratch scratch, int start, int target) {
+        int[] queue = scratch.queue;
+        int mask = scratch.queueMask;
+        int[] parents = scratch.forwardParents;
+        int[] marks = scratch.forwardMarks;
+        int epoch = scratch.epoch;
+
+        int head = 0;
+        int tail = 0;
+        marks[start] = epoch;
+        parents[start] = NO_PARENT;
+        queue[tail++ & mask] = start;
+
+        while (head != tail) {
+            if ((head & INTERRUPT_CHECK_MASK) == 0) checkInterrupted();
+            int current = queue[head++ & mask];
+            if (current == target) {
+                return buildPath(target, parents);
+            }
+            for (int k = graph.adjacencyStart(current); k < graph.adjacencyEnd(current); k++) {
+                int neighbor = graph.adjacent(k);
+                if (marks[neighbor] != epoch) {
+                    marks[neighbor] = epoch;
+                    parents[neighbor] = current;
+                    queue[tail++ & mask] = neighbor;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int[] bidirectional(SearchScratch scratch, int start, int target) {
+        int epoch = scratch.epoch;
+        int[] forwardParents = scratch.forwardParents;
+        int[] backwardParents = scratch.backwardParents;
+        int[] forwardMarks = scratch.forwardMarks;
+        int[] backwardMarks = scratch.backwardMarks;
+        forwardMarks[start] = epoch;
+        forwardParents[start] = NO_PARENT;
+        backwardMarks[target] = epoch;
+        backwardParents[target] = NO_PARENT;
+
+        int[] forwardFrontier = scratch.frontier;
+        int[] backwardFrontier = scratch.otherFrontier;
+        int[] next = scratch.nextFrontier;
+        forwardFrontier[0] = start;
+        backwardFrontier[0] = target;
+        int forwardSize = 1;
+        int backwardSize = 1;
+
+        while (forwardSize > 0 && backwardSize > 0) {
+            checkInterrupted();
+            // Expanding the smaller frontier keeps the number of visited words minimal
+            boolean forward = forwardSize <= backwardSize;
+            int[] frontier = forward ? forwardFrontier : backwardFrontier;
+            int size = forward ? forwardSize : backwardSize;
+            int[] parents = forward ? forwardParents : backwardParents;
+            int[] marks = forward ? forwardMarks : backwardMarks;
+            int[] otherMarks = forward ? backwardMarks : forwardMarks;
+
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                int current = frontier[i];
+                for (int k = graph.adjacencyStart(current); k < graph.adjacencyEnd(current); k++) {
+                    int neighbor = graph.adjacent(k);
+                    if (marks[neighbor] == epoch) continue;
+                    marks[neighbor] = epoch;
+                    parents[neighbor] = current;
+                    if (otherMarks[neighbor] == epoch) {
+                        return joinPaths(neighbor, forwardParents, backwardParents);
+                    }
+                    next[nextSize++] = neighbor;
+                }
+            }
+
+            int[] expanded = frontier;
+            if (forward) {
+                forwardFrontier = next;
+                forwardSize = nextSize;
+            } else {
+                backwardFrontier = next;
+                backwardSize = nextSize;
+            }
+            next = expanded;
+        }
+        return null;
+    }
+
+    /**
+     * A* over a binary heap of packed entries; forwardMarks flag words with a known distance,
+     * backwardMarks flag words that have been closed.
+     */
+    private int[] aStar(SearchScratch scratch, int start, int target, boolean useLandmarks) {
+        Landmarks landmarks = useLandmarks ? graph.landmarks() : null;
+        int targetCode = graph.code(target);
+
+        int epoch = scratch.epoch;
+        int[] parents = scratch.forwardParents;
+        int[] distances = scratch.distances;
+        int[] seen = scratch.forwardMarks;
+        int[] closed = scratch.backwardMarks;
+
+        seen[start] = epoch;
+        parents[start] = NO_PARENT;
+        distances[start] = 0;
+        int heapSize = push(scratch, 0, entry(estimate(start, target, targetCode, landmarks), 0, start));
+
+        for (int expanded = 0; heapSize > 0; expanded++) {
+            if ((expanded & INTERRUPT_CHECK_MASK) == 0) checkInterrupted();
+            long top = scratch.heap[0];
+            heapSize = pop(scratch.heap, heapSize);
+            int current = (int) (top & ID_MASK);
+            if (closed[current] == epoch) continue;
+            closed[current] = epoch;
+
+            if (current == target) {
+                return buildPath(target, parents);
+            }
+
+            int nextDistance = distances[current] + 1;
+            for (int k = graph.adjacencyStart(current); k < graph.adjacencyEnd(current); k++) {
+                int neighbor = graph.adjacent(k);
+                if (closed[neighbor] == epoch) continue;
+                if (seen[neighbor] == epoch && distances[neighbor] <= nextDistance) continue;
+                seen[neighbor] = epoch;
+                parents[neighbor] = current;
+                distances[neighbor] = nextDistance;
+                int f = nextDistance + estimate(neighbor, target, targetCode, landmarks);
+                heapSize = push(scratch, heapSize, entry(f, nextDistance, neighbor));
+            }
+        }
+        return null;
+    }
+
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Search interrupted");
+        }
+    }
+
+    private static int push(SearchScratch scratch, int size, long value) {
+        scratch.ensureHeapCapacity(size + 1);
+        long[] heap = scratch.heap;
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        return size + 1;
+    }
+
+    private static int pop(long[] heap, int size) {
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return size;
+    }
+
+    /**
+     * @post Returns an admissible lower bound on the moves from id to target
+     * @return Hamming distance, raised to the landmark bound when landmarks are given
+     */
+    private int estimate(int id, int target, int targetCode, Landmarks landmarks) {
+        int bound = WordCodec.hamming(graph.code(id), targetCode);
+        return landmarks == null ? bound : Math.max(bound, landmarks.lowerBound(id, target));
+    }
+
+    /**
+     * Packs an open-list entry so that entries sort by estimate, then by larger distance travelled.
+     */
+    private static long entry(int estimate, int distance, int id) {
+        return ((long) estimate << (2 * ID_BITS)) | ((ID_MASK - distance) << ID_BITS) | id;
+    }
+
+    private static int[] buildPath(int target, int[] parents) {
+        int length = 0;
+        for (int node = target; node != NO_PARENT; node = parents[node]) length++;
+        int[] path = new int[length];
+        for (int node = target; node != NO_PARENT; node = parents[node]) path[--length] = node;
+        return path;
+    }
+
+    private static int[] joinPaths(int meeting, int[] forwardParents, int[] backwardParents) {
+        int headLength = 0;
+        for (int node = meeting; node != NO_PARENT; node = forwardParents[node]) headLength++;
+        int length = headLength;
+        for (int node = backwardParents[meeting]; node != NO_PARENT; node = backwardParents[node]) length++;
+
+        int[] path = new int[length];
+        int i = headLength;
+        for (int node = meeting; node != NO_PARENT; node = forwardParents[node]) path[--i] = node;
+        i = headLength;
+        for (int node = backwardParents[meeting]; node != NO_PARENT; node = backwardParents[node]) path[i++] = node;
+        return path;
+    }
+}
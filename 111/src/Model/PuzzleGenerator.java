@@ -0,0 +1,313 @@
+package Model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates start/target pairs whose shortest ladder length lies in a given range.
+ *
+ * <p>Batches are generated in parallel on the common fork/join pool. Every split of the work
+ * also splits the {@link SplittableRandom}, and the split tree depends only on the batch size,
+ * so the same seed always yields the same puzzles regardless of the number of cores.</p>
+ *
+ * <p>Start words are drawn only from components of at least two words, each component weighted by its size,
+ * so words that no ladder reaches are never tried.</p>
+ *
+ * <p>Puzzle files start with the magic number, the puzzle count and the length range,
+ * followed by six bytes per puzzle: start code (20 bits), target code (20 bits) and length (8 bits).
+ * So only generators whose maximum length is at most {@value #MAX_FILE_LENGTH} can write them.</p>
+ */
+public final class PuzzleGenerator {
+
+    public static final int DEFAULT_MIN_LENGTH = 4;
+    public static final int DEFAULT_MAX_LENGTH = 7;
+    public static final int MAX_FILE_LENGTH = 0xFF;
+
+    private static final int FILE_MAGIC = 0x57505A31; // "WPZ1"
+    private static final int MAX_ATTEMPTS = 64;
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private final WordGraph graph;
+    private final int minLength;
+    private final int maxLength;
+    // Components of at least two words, and the running total of their sizes
+    private final int[] connected;
+    private final int[] connectedEnds;
+
+    public PuzzleGenerator(WordGraph graph, int minLength, int maxLength) {
+        assert graph != null : "Graph must not be null";
+        assert 1 <= minLength && minLength <= maxLength : "Length range must be valid";
+        this.graph = graph;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+
+        int count = 0;
+        for (int c = 0; c < graph.componentCount(); c++) {
+            if (graph.componentSize(c) >= 2) count++;
+        }
+        connected = new int[count];
+        connectedEnds = new int[count];
+        int words = 0;
+        int next = 0;
+        for (int c = 0; c < graph.componentCount(); c++) {
+            if (graph.componentSize(c) < 2) continue;
+            words += graph.componentSize(c);
+            connected[next] = c;
+            connectedEnds[next++] = words;
+        }
+    }
+
+    /**
+     * @post Returns true if some two words of the graph are connected by a ladder
+     * @return whether any ladder exists
+     */
+    public boolean hasLadder() {
+        return connected.length > 0;
+    }
+
+    /**
+     * @param random the random source to draw from
+     * @pre random must not be null
+     * @post Returns a puzzle whose shortest ladder length lies in [minLength, maxLength],
+     *       or null if none was found within a bounded number of start words
+     * @return puzzle or null
+     */
+    public Puzzle next(SplittableRandom random) {
+        return next(random, new short[graph.size()]);
+    }
+
+    private Puzzle next(SplittableRandom random, short[] distances) {
+        if (!hasLadder()) return null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int start = connectedStart(random);
+            graph.distancesFrom(start, distances);
+            int candidates = 0;
+            for (int id = 0; id < graph.size(); id++) {
+                if (distances[id] >= minLength && distances[id] <= maxLength) candidates++;
+            }
+            if (candidates == 0) continue;
+
+            int pick = random.nextInt(candidates);
+            for (int id = 0; id < graph.size(); id++) {
+                if (distances[id] >= minLength && distances[id] <= maxLength && pick-- == 0) {
+                    return new Puzzle(graph.code(start), graph.code(id), distances[id]);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param random the random source to draw from
+     * @pre random must not be null
+     * @post Returns a puzzle on two different connected words whatever its ladder length,
+     *       or null only if the graph has no ladder at all
+     * @return puzzle or null
+     */
+    public Puzzle any(SplittableRandom random) {
+        if (!hasLadder()) return null;
+        int start = connectedStart(random);
+        int component = graph.component(start);
+        int target = graph.componentMember(component, random.nextInt(graph.componentSize(component) - 1));
+        if (target == start) target = graph.componentMember(component, graph.componentSize(component) - 1);
+        return new Puzzle(graph.code(start), graph.code(target), graph.distancesFrom(start)[target]);
+    }
+
+    /**
+     * @pre hasLadder()
+     * @post Returns a word of a component of at least two words, uniformly over all such words
+     * @return word id
+     */
+    private int connectedStart(SplittableRandom random) {
+        int pick = random.nextInt(connectedEnds[connectedEnds.length - 1]);
+        int index = Arrays.binarySearch(connectedEnds, pick);
+        index = index < 0 ? -index - 1 : index + 1;
+        int before = index == 0 ? 0 : connectedEnds[index - 1];
+        return graph.componentMember(connected[index], pick - before);
+    }
+
+    /**
+     * @param count number of puzzles
+     * @param seed random seed
+     * @pre count >= 0
+     * @post Returns count puzzles generated in parallel; the result depends only on the seed
+     * @return generated puzzles
+     * @throws IllegalStateException if the dictionary has no ladder in the length range
+     */
+    public List<Puzzle> generate(int count, long seed) {
+        assert count >= 0 : "Count must not be negative";
+        Puzzle[] puzzles = new Puzzle[count];
+        ForkJoinPool.commonPool().invoke(new GenerateTask(puzzles, 0, count, new SplittableRandom(seed)));
+        return Arrays.asList(puzzles);
+    }
+
+    /**
+     * @param output the file to write
+     * @param count number of puzzles
+     * @param seed random seed
+     * @pre output must not be null and count >= 0
+     * @post The file holds count puzzles, generated and written one block at a time
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if maxLength is above MAX_FILE_LENGTH, so lengths would not fit the file format
+     */
+    public void writeTo(Path output, int count, long seed) throws IOException {
+        assert output != null && count >= 0 : "Output must not be null and count must not be negative";
+        if (maxLength > MAX_FILE_LENGTH) {
+            throw new IllegalArgumentException("Puzzle files hold lengths up to " + MAX_FILE_LENGTH + ", not " + maxLength);
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(count);
+            out.writeByte(minLength);
+            out.writeByte(maxLength);
+            for (int written = 0; written < count; written += BLOCK_SIZE) {
+                Puzzle[] block = new Puzzle[Math.min(BLOCK_SIZE, count - written)];
+                ForkJoinPool.commonPool().invoke(new GenerateTask(block, 0, block.length, root.split()));
+                for (Puzzle puzzle : block) {
+                    long packed = ((long) puzzle.startCode << 28) | ((long) puzzle.targetCode << 8) | puzzle.length;
+                    out.writeShort((int) (packed >>> 32));
+                    out.writeInt((int) packed);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param input a file written by writeTo
+     * @pre input must not be null
+     * @post Returns the puzzles stored in the file
+     * @return puzzles in file order
+     * @throws IOException if the file cannot be read or is not a puzzle file
+     */
+    public static List<Puzzle> readFrom(Path input) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(input)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a puzzle file: " + input);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupt puzzle file: " + input);
+            }
+            in.readUnsignedByte();
+            in.readUnsignedByte();
+            List<Puzzle> puzzles = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long packed = ((long) in.readUnsignedShort() << 32) | (in.readInt() & 0xFFFFFFFFL);
+                puzzles.add(new Puzzle((int) (packed >>> 28) & 0xFFFFF, (int) (packed >>> 8) & 0xFFFFF, (int) packed & 0xFF));
+            }
+            return puzzles;
+        }
+    }
+
+    /**
+     * Writes a puzzle file: PuzzleGenerator dictionary count minLength maxLength seed output
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 6) {
+            System.err.println("Usage: PuzzleGenerator <dictionary> <count> <minLength> <maxLength> <seed> <output>");
+            System.exit(1);
+        }
+        WordGraph graph = WordGraph.read(Paths.get(args[0]));
+        int count = Integer.parseInt(args[1]);
+        PuzzleGenerator generator = new PuzzleGenerator(graph, Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+
+        long started = System.nanoTime();
+        generator.writeTo(Paths.get(args[5]), count, Long.parseLong(args[4]));
+        System.out.println("Generated " + count + " puzzles in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Fills a slice of the result array, splitting the random source along with the work.
+     */
+    private final class GenerateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Puzzle[] puzzles;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        private GenerateTask(Puzzle[] puzzles, int from, int to, SplittableRandom random) {
+            this.puzzles = puzzles;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                short[] distances = new short[graph.size()];
+                for (int i = from; i < to; i++) {
+                    Puzzle puzzle = next(random, distances);
+                    if (puzzle == null) {
+                        throw new IllegalStateException("No ladder of length " + minLength + "-" + maxLength + " in dictionary");
+                    }
+                    puzzles[i] = puzzle;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            SplittableRandom right = random.split();
+            invokeAll(new GenerateTask(puzzles, from, middle, random), new GenerateTask(puzzles, middle, to, right));
+        }
+    }
+
+    /**
+     * A start/target pair and the length of its shortest ladder.
+     */
+    public static final class Puzzle {
+        private final int startCode;
+        private final int targetCode;
+        private final int length;
+
+        public Puzzle(int startCode, int targetCode, int length) {
+            this.startCode = startCode;
+            this.targetCode = targetCode;
+            this.length = length;
+        }
+
+        public String getStartWord() {
+            return WordCodec.decode(startCode);
+        }
+
+        public String getTargetWord() {
+            return WordCodec.decode(targetCode);
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Puzzle)) return false;
+            Puzzle other = (Puzzle) o;
+            return startCode == other.startCode && targetCode == other.targetCode && length == other.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return (startCode * 31 + targetCode) * 31 + length;
+        }
+
+        @Override
+        public String toString() {
+            return getStartWord() + " -> " + getTargetWord() + " (" + length + ")";
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package Model;
+
+/**
+ * The search strategies available to {@link Model#findPath(String, String)}.
+ * Every mode returns a shortest path, so they only differ in how much of the word graph they visit.
+ */
+public enum SearchMode {
+    /** One-sided breadth-first search from the start word. */
+    BFS,
+    /** Breadth-first search from both ends, always expanding the smaller frontier. */
+    BIDIRECTIONAL,
+    /** A* search guided by the number of letters that still differ from the target. */
+    A_STAR_HAMMING,
+    /** A* search guided by precomputed landmark distances (ALT), never weaker than the Hamming distance. */
+    A_STAR_LANDMARKS
+}
@@ -0,0 +1,106 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Working memory for graph searches, reused across calls so that searching produces no garbage.
+ *
+ * <p>Scratch spaces live in a small shared pool with a couple of slots per processor. A search borrows
+ * one with {@link #acquire} and hands it back with {@link #release}; when every slot is taken, as in a
+ * burst of more concurrent searches than processors, the extra ones are allocated and dropped again.
+ * So the memory held stays bounded however many threads search, virtual threads included.</p>
+ *
+ * <p>Instead of clearing the visited arrays before every search, each search takes a new epoch and
+ * a word counts as visited only if its mark equals the current epoch. The arrays are cleared only
+ * when the epoch counter wraps around.</p>
+ */
+final class SearchScratch {
+
+    private static final AtomicReferenceArray<SearchScratch> POOL =
+            new AtomicReferenceArray<>(2 * Runtime.getRuntime().availableProcessors());
+
+    int[] queue = new int[0];
+    int queueMask;
+    int[] forwardParents = new int[0];
+    int[] backwardParents = new int[0];
+    int[] forwardMarks = new int[0];
+    int[] backwardMarks = new int[0];
+    int[] frontier = new int[0];
+    int[] otherFrontier = new int[0];
+    int[] nextFrontier = new int[0];
+    int[] distances = new int[0];
+    long[] heap = new long[0];
+    int epoch;
+
+    private SearchScratch() {
+    }
+
+    /**
+     * @param words number of words in the graph to be searched
+     * @pre words >= 0
+     * @post Returns a scratch space that no other search is using, sized for the graph and stamped with a fresh epoch;
+     *       the caller must pass it to release when done
+     * @return scratch space
+     */
+    static SearchScratch acquire(int words) {
+        SearchScratch scratch = null;
+        int first = slot();
+        for (int i = 0; i < POOL.length() && scratch == null; i++) {
+            scratch = POOL.getAndSet((first + i) % POOL.length(), null);
+        }
+        if (scratch == null) scratch = new SearchScratch();
+        scratch.prepare(words);
+        return scratch;
+    }
+
+    /**
+     * @param scratch a scratch space returned by acquire
+     * @pre scratch must not be used after this call
+     * @post scratch is back in the pool, or left to the garbage collector if the pool is full
+     */
+    static void release(SearchScratch scratch) {
+        int first = slot();
+        for (int i = 0; i < POOL.length(); i++) {
+            if (POOL.compareAndSet((first + i) % POOL.length(), null, scratch)) return;
+        }
+    }
+
+    // Threads start probing at different slots, so they rarely contend for the same one
+    private static int slot() {
+        return (int) (Thread.currentThread().getId() % POOL.length());
+    }
+
+    private void prepare(int words) {
+        if (forwardMarks.length < words) {
+            int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, words - 1)) << 1);
+            queue = new int[capacity];
+            queueMask = capacity - 1;
+            forwardParents = new int[capacity];
+            backwardParents = new int[capacity];
+            forwardMarks = new int[capacity];
+            backwardMarks = new int[capacity];
+            frontier = new int[capacity];
+            otherFrontier = new int[capacity];
+            nextFrontier = new int[capacity];
+            distances = new int[capacity];
+            heap = new long[capacity];
+            epoch = 0;
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(forwardMarks, 0);
+            Arrays.fill(backwardMarks, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * @param size number of heap entries that must fit
+     * @post heap can hold at least size entries, keeping its contents
+     */
+    void ensureHeapCapacity(int size) {
+        if (size > heap.length) {
+            heap = Arrays.copyOf(heap, Math.max(size, heap.length * 2));
+        }
+    }
+}
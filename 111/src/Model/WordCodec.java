@@ -0,0 +1,119 @@
+package Model;
+
+/**
+ * Packs four-letter words into 20-bit ints, five bits per letter, so the engine never has to touch strings.
+ * The first letter occupies the highest bits, which makes numeric order of codes equal to alphabetical order of words.
+ */
+public final class WordCodec {
+
+    public static final int WORD_LENGTH = 4;
+    public static final int BITS_PER_LETTER = 5;
+    public static final int ALPHABET_SIZE = 26;
+    /** Number of distinct four-letter words, i.e. the size of the membership bitset. */
+    public static final int WORD_SPACE = ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE;
+    public static final int INVALID = -1;
+
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+    private WordCodec() {
+    }
+
+    /**
+     * @param word the word to encode, in any case
+     * @pre none
+     * @post Returns the packed code, or INVALID if word is not exactly four letters a-z
+     * @return packed word code
+     */
+    public static int encode(CharSequence word) {
+        if (word == null || word.length() != WORD_LENGTH) return INVALID;
+        int code = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            char c = word.charAt(i);
+            int letter;
+            if (c >= 'a' && c <= 'z') {
+                letter = c - 'a';
+            } else if (c >= 'A' && c <= 'Z') {
+                letter = c - 'A';
+            } else {
+                return INVALID;
+            }
+            code = (code << BITS_PER_LETTER) | letter;
+        }
+        return code;
+    }
+
+    /**
+     * @param code a packed word code
+     * @pre code must have been produced by encode and not be INVALID
+     * @post Returns the lower-case word
+     * @return decoded word
+     */
+    public static String decode(int code) {
+        assert code != INVALID : "Code must be valid";
+        char[] letters = new char[WORD_LENGTH];
+        for (int i = WORD_LENGTH - 1; i >= 0; i--) {
+            letters[i] = (char) ('a' + (code & LETTER_MASK));
+            code >>>= BITS_PER_LETTER;
+        }
+        return new String(letters);
+    }
+
+    /**
+     * @param code a packed word code
+     * @param position letter index, 0 being the first letter
+     * @pre 0 <= position < WORD_LENGTH
+     * @post Returns the letter at position as 0-25
+     * @return letter index
+     */
+    public static int letterAt(int code, int position) {
+        return (code >>> shift(position)) & LETTER_MASK;
+    }
+
+    /**
+     * @param code a packed word code
+     * @param position letter index, 0 being the first letter
+     * @param letter the new letter as 0-25
+     * @pre 0 <= position < WORD_LENGTH and 0 <= letter < ALPHABET_SIZE
+     * @post Returns code with the letter at position replaced
+     * @return modified code
+     */
+    public static int withLetter(int code, int position, int letter) {
+        int shift = shift(position);
+        return (code & ~(LETTER_MASK << shift)) | (letter << shift);
+    }
+
+    /**
+     * @param code a packed word code
+     * @pre code must be valid
+     * @post Returns a dense base-26 index in [0, WORD_SPACE)
+     * @return bitset index of the word
+     */
+    public static int rank(int code) {
+        int rank = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            rank = rank * ALPHABET_SIZE + letterAt(code, i);
+        }
+        return rank;
+    }
+
+    /**
+     * @param a first code
+     * @param b second code
+     * @pre Both codes must be valid
+     * @post Returns the number of positions whose letters differ
+     * @return Hamming distance
+     */
+    public static int hamming(int a, int b) {
+        int diff = a ^ b;
+        int count = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if ((diff & LETTER_MASK) != 0) count++;
+            diff >>>= BITS_PER_LETTER;
+        }
+        return count;
+    }
+
+    private static int shift(int position) {
+        return (WORD_LENGTH - 1 - position) * BITS_PER_LETTER;
+    }
+}
@@ -0,0 +1,603 @@
+package Model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Immutable word graph over packed four-letter words.
+ *
+ * <p>Words are identified by a dense id in [0, size()), assigned in alphabetical order.
+ * Membership is a bitset over all 26^4 words (about 57 KB), and neighbors are stored in
+ * compressed sparse row form: the neighbors of id are adjacent(k) for k in
+ * [adjacencyStart(id), adjacencyEnd(id)).</p>
+ *
+ * <p>Connected components are labeled at load time, so two words can be checked for a
+ * possible ladder in O(1) and each component's members can be enumerated directly.</p>
+ *
+ * <p>A graph can be compiled into a binary graph file ({@value #GRAPH_FILE_EXTENSION}) holding all of the
+ * above as little-endian arrays. Opening such a file memory-maps it read-only instead of parsing and
+ * rebuilding, so the graph lives off-heap and JVMs on the same host share one copy in the page cache.</p>
+ */
+public final class WordGraph {
+
+    public static final String GRAPH_FILE_EXTENSION = ".wgraph";
+
+    private static final int FILE_MAGIC = 0x57475231; // "WGR1"
+    private static final int HEADER_BYTES = 32;
+    private static final int MEMBER_WORDS = (WordCodec.WORD_SPACE + 63) >>> 6;
+
+    private final int size;
+    private final IntBuffer codes;
+    private final LongBuffer members;
+    private final IntBuffer offsets;
+    private final IntBuffer adjacency;
+    private final IntBuffer components;
+    private final IntBuffer componentOffsets;
+    private final IntBuffer componentMembers;
+    private volatile Landmarks landmarks;
+    private volatile PathCache pathCache;
+
+    private WordGraph(IntBuffer codes, LongBuffer members, IntBuffer offsets, IntBuffer adjacency,
+                      IntBuffer components, IntBuffer componentOffsets, IntBuffer componentMembers) {
+        this.size = codes.capacity();
+        this.codes = codes;
+        this.members = members;
+        this.offsets = offsets;
+        this.adjacency = adjacency;
+        this.components = components;
+        this.componentOffsets = componentOffsets;
+        this.componentMembers = componentMembers;
+    }
+
+    /**
+     * @param codes sorted, distinct word codes
+     * @pre codes must be sorted ascending without duplicates
+     * @post Returns an on-heap graph with membership, adjacency and components computed
+     * @return word graph
+     */
+    private static WordGraph build(int[] codes) {
+        long[] members = new long[MEMBER_WORDS];
+        for (int code : codes) {
+            int rank = WordCodec.rank(code);
+            members[rank >>> 6] |= 1L << rank;
+        }
+
+        int[] offsets = new int[codes.length + 1];
+        int[] edges = new int[Math.max(16, codes.length * 4)];
+        int count = 0;
+        for (int id = 0; id < codes.length; id++) {
+            offsets[id] = count;
+            int code = codes[id];
+            for (int position = 0; position < WordCodec.WORD_LENGTH; position++) {
+                int own = WordCodec.letterAt(code, position);
+                for (int letter = 0; letter < WordCodec.ALPHABET_SIZE; letter++) {
+                    if (letter == own) continue;
+                    int candidate = WordCodec.withLetter(code, position, letter);
+                    int rank = WordCodec.rank(candidate);
+                    if ((members[rank >>> 6] & (1L << rank)) == 0) continue;
+                    if (count == edges.length) edges = Arrays.copyOf(edges, count * 2);
+                    edges[count++] = Arrays.binarySearch(codes, candidate);
+                }
+            }
+        }
+        offsets[codes.length] = count;
+        int[] adjacency = Arrays.copyOf(edges, count);
+
+        // Breadth-first labeling leaves every component's members contiguous in the queue
+        int[] components = new int[codes.length];
+        int[] componentMembers = new int[codes.length];
+        Arrays.fill(components, -1);
+        int[] starts = new int[codes.length + 1];
+        int componentCount = 0;
+        int tail = 0;
+        for (int seed = 0; seed < codes.length; seed++) {
+            if (components[seed] >= 0) continue;
+            starts[componentCount] = tail;
+            components[seed] = componentCount;
+            componentMembers[tail++] = seed;
+            for (int head = starts[componentCount]; head < tail; head++) {
+                int current = componentMembers[head];
+                for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+                    int neighbor = adjacency[k];
+                    if (components[neighbor] < 0) {
+                        components[neighbor] = componentCount;
+                        componentMembers[tail++] = neighbor;
+                    }
+                }
+            }
+            componentCount++;
+        }
+        starts[componentCount] = tail;
+
+        return new WordGraph(IntBuffer.wrap(codes), LongBuffer.wrap(members), IntBuffer.wrap(offsets),
+                IntBuffer.wrap(adjacency), IntBuffer.wrap(components),
+                IntBuffer.wrap(Arrays.copyOf(starts, componentCount + 1)), IntBuffer.wrap(componentMembers));
+    }
+
+    /**
+     * @param words dictionary words in any case
+     * @pre words must not be null
+     * @post Returns a graph of the distinct four-letter a-z words; other entries are ignored
+     * @return word graph
+     */
+    public static WordGraph fromWords(Collection<String> words) {
+        assert words != null : "Words must not be null";
+        return build(encodeAll(words.stream()));
+    }
+
+    /**
+     * @param dictionaryFile a text file with one word per line
+     * @pre dictionaryFile must not be null
+     * @post Returns the graph of the four-letter words in the file
+     * @return word graph
+     * @throws IOException if the file cannot be read
+     */
+    public static WordGraph read(Path dictionaryFile) throws IOException {
+        return read(dictionaryFile, percent -> { });
+    }
+
+    /**
+     * @param dictionaryFile a text file with one word per line
+     * @param progress receives the loading progress in percent, from the loading thread
+     * @pre dictionaryFile and progress must not be null
+     * @post Returns the graph of the four-letter words in the file; progress has received 100
+     * @return word graph
+     * @throws IOException if the file cannot be read
+     */
+    public static WordGraph read(Path dictionaryFile, IntConsumer progress) throws IOException {
+        assert dictionaryFile != null : "Dictionary file must not be null";
+        long total = Math.max(1, Files.size(dictionaryFile));
+        int[] codes = new int[1024];
+        int count = 0;
+        long bytesRead = 0;
+        int reported = -1;
+        try (BufferedReader reader = Files.newBufferedReader(dictionaryFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                bytesRead += line.length() + 1;
+                int code = WordCodec.encode(line.trim());
+                if (code != WordCodec.INVALID) {
+                    if (count == codes.length) codes = Arrays.copyOf(codes, count * 2);
+                    codes[count++] = code;
+                }
+                // Reading is the bulk of the work; building the graph is the last 10%
+                int percent = (int) Math.min(90, bytesRead * 90 / total);
+                if (percent != reported) {
+                    progress.accept(percent);
+                    reported = percent;
+                }
+            }
+        }
+        WordGraph graph = build(Arrays.stream(codes, 0, count).sorted().distinct().toArray());
+        progress.accept(100);
+        return graph;
+    }
+
+    /**
+     * @param file a text dictionary, or a compiled graph file ending in GRAPH_FILE_EXTENSION
+     * @pre file must not be null
+     * @post Returns the graph, memory-mapped for graph files and parsed for text dictionaries
+     * @return word graph
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static WordGraph open(Path file) throws IOException {
+        return open(file, percent -> { });
+    }
+
+    /**
+     * @param file a text dictionary, or a compiled graph file ending in GRAPH_FILE_EXTENSION
+     * @param progress receives the loading progress in percent, from the loading thread
+     * @pre file and progress must not be null
+     * @post Returns the graph, memory-mapped for graph files and parsed for text dictionaries
+     * @return word graph
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static WordGraph open(Path file, IntConsumer progress) throws IOException {
+        if (!file.toString().endsWith(GRAPH_FILE_EXTENSION)) {
+            return read(file, progress);
+        }
+        WordGraph graph = map(file);
+        progress.accept(100);
+        return graph;
+    }
+
+    /**
+     * @param graphFile a file written by write
+     * @pre graphFile must not be null
+     * @post Returns a graph backed by a read-only memory mapping of the file, after one linear pass has checked
+     *       that every array is consistent, so later lookups can index it without bounds checks of their own
+     * @return word graph
+     * @throws IOException if the file cannot be mapped or is not a valid graph file
+     */
+    public static WordGraph map(Path graphFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(graphFile, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != FILE_MAGIC) {
+                throw new IOException("Not a word graph file: " + graphFile);
+            }
+            int words = buffer.getInt(4);
+            int edges = buffer.getInt(8);
+            int componentCount = buffer.getInt(12);
+            long expected = HEADER_BYTES + 8L * MEMBER_WORDS + 4L * (4L * words + 1 + edges + componentCount + 1);
+            if (words < 0 || edges < 0 || componentCount < 0 || buffer.capacity() != expected) {
+                throw new IOException("Corrupt word graph file: " + graphFile);
+            }
+
+            int position = HEADER_BYTES;
+            LongBuffer members = slice(buffer, position, 8 * MEMBER_WORDS).asLongBuffer();
+            position += 8 * MEMBER_WORDS;
+            IntBuffer codes = slice(buffer, position, 4 * words).asIntBuffer();
+            position += 4 * words;
+            IntBuffer offsets = slice(buffer, position, 4 * (words + 1)).asIntBuffer();
+            position += 4 * (words + 1);
+            IntBuffer adjacency = slice(buffer, position, 4 * edges).asIntBuffer();
+            position += 4 * edges;
+            IntBuffer components = slice(buffer, position, 4 * words).asIntBuffer();
+            position += 4 * words;
+            IntBuffer componentOffsets = slice(buffer, position, 4 * (componentCount + 1)).asIntBuffer();
+            position += 4 * (componentCount + 1);
+            IntBuffer componentMembers = slice(buffer, position, 4 * words).asIntBuffer();
+            String problem = inconsistency(codes, members, offsets, adjacency, components, componentOffsets, componentMembers);
+            if (problem != null) {
+                throw new IOException("Corrupt word graph file: " + graphFile + ": " + problem);
+            }
+            return new WordGraph(codes, members, offsets, adjacency, components, componentOffsets, componentMembers);
+        }
+    }
+
+    /**
+     * @pre the arrays have the lengths given in the file header
+     * @post Returns null if the arrays form a valid graph, otherwise a description of the first problem found
+     * @return problem or null
+     */
+    private static String inconsistency(IntBuffer codes, LongBuffer members, IntBuffer offsets, IntBuffer adjacency,
+                                        IntBuffer components, IntBuffer componentOffsets, IntBuffer componentMembers) {
+        int words = codes.capacity();
+        int edges = adjacency.capacity();
+        int componentCount = componentOffsets.capacity() - 1;
+
+        long memberCount = 0;
+        for (int i = 0; i < members.capacity(); i++) {
+            memberCount += Long.bitCount(members.get(i));
+        }
+        if (memberCount != words) return "membership does not match the word list";
+        for (int id = 0; id < words; id++) {
+            int code = codes.get(id);
+            if (code < 0 || code >= 1 << (WordCodec.WORD_LENGTH * WordCodec.BITS_PER_LETTER)) return "word " + id + " is not a word code";
+            for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+                if (WordCodec.letterAt(code, i) >= WordCodec.ALPHABET_SIZE) return "word " + id + " is not a word code";
+            }
+            if (id > 0 && code <= codes.get(id - 1)) return "words are not sorted";
+            int rank = WordCodec.rank(code);
+            if ((members.get(rank >>> 6) & (1L << rank)) == 0) return "word " + id + " is not a member";
+        }
+
+        if (offsets.get(0) != 0 || offsets.get(words) != edges) return "adjacency offsets do not span the adjacency list";
+        for (int id = 0; id < words; id++) {
+            if (offsets.get(id + 1) < offsets.get(id)) return "adjacency offsets decrease at word " + id;
+        }
+        for (int k = 0; k < edges; k++) {
+            int neighbor = adjacency.get(k);
+            if (neighbor < 0 || neighbor >= words) return "neighbor " + neighbor + " is out of range";
+        }
+
+        if (componentOffsets.get(0) != 0 || componentOffsets.get(componentCount) != words) return "component offsets do not span the words";
+        for (int c = 0; c < componentCount; c++) {
+            if (componentOffsets.get(c + 1) < componentOffsets.get(c)) return "component offsets decrease at component " + c;
+            for (int k = componentOffsets.get(c); k < componentOffsets.get(c + 1); k++) {
+                int member = componentMembers.get(k);
+                if (member < 0 || member >= words || components.get(member) != c) return "component " + c + " lists a word outside it";
+            }
+        }
+        for (int id = 0; id < words; id++) {
+            int component = components.get(id);
+            if (component < 0 || component >= componentCount) return "word " + id + " has no valid component";
+        }
+        return null;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        return buffer.duplicate().position(position).limit(position + length).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @param graphFile the file to write
+     * @pre graphFile must not be null
+     * @post graphFile holds the graph in the format read by map
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path graphFile) throws IOException {
+        int edges = adjacency.capacity();
+        int componentCount = componentCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 8 * MEMBER_WORDS + 4 * (4 * size + 1 + edges + componentCount + 1))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(FILE_MAGIC).putInt(size).putInt(edges).putInt(componentCount);
+        buffer.position(HEADER_BYTES);
+        for (int i = 0; i < MEMBER_WORDS; i++) buffer.putLong(members.get(i));
+        putAll(buffer, codes);
+        putAll(buffer, offsets);
+        putAll(buffer, adjacency);
+        putAll(buffer, components);
+        putAll(buffer, componentOffsets);
+        putAll(buffer, componentMembers);
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(graphFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static void putAll(ByteBuffer buffer, IntBuffer values) {
+        for (int i = 0; i < values.capacity(); i++) buffer.putInt(values.get(i));
+    }
+
+    /**
+     * Compiles a text dictionary into a graph file: WordGraph dictionary.txt dictionary.wgraph
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: WordGraph <dictionary.txt> <output" + GRAPH_FILE_EXTENSION + ">");
+            System.exit(1);
+        }
+        WordGraph graph = read(Paths.get(args[0]));
+        graph.write(Paths.get(args[1]));
+        System.out.println("Wrote " + graph.size() + " words and " + graph.adjacency.capacity() + " edges to " + args[1]);
+    }
+
+    private static int[] encodeAll(Stream<String> words) {
+        return words.map(String::trim)
+                .mapToInt(WordCodec::encode)
+                .filter(code -> code != WordCodec.INVALID)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * @post Returns the number of words in the graph
+     * @return word count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id word id
+     * @pre 0 <= id < size()
+     * @post Returns the packed code of the word
+     * @return word code
+     */
+    public int code(int id) {
+        return codes.get(id);
+    }
+
+    /**
+     * @param id word id
+     * @pre 0 <= id < size()
+     * @post Returns the lower-case word
+     * @return word string
+     */
+    public String word(int id) {
+        return WordCodec.decode(codes.get(id));
+    }
+
+    /**
+     * @param code a packed word code, possibly INVALID
+     * @post Returns true if the word is in the dictionary; never allocates
+     * @return whether the word exists
+     */
+    public boolean contains(int code) {
+        if (code == WordCodec.INVALID) return false;
+        int rank = WordCodec.rank(code);
+        return (members.get(rank >>> 6) & (1L << rank)) != 0;
+    }
+
+    /**
+     * @param code a packed word code, possibly INVALID
+     * @post Returns the id of the word, or -1 if it is not in the dictionary
+     * @return word id
+     */
+    public int indexOf(int code) {
+        if (!contains(code)) return -1;
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = codes.get(middle);
+            if (value < code) {
+                low = middle + 1;
+            } else if (value > code) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param word a word in any case
+     * @post Returns the id of the word, or -1 if it is not in the dictionary
+     * @return word id
+     */
+    public int indexOf(String word) {
+        return indexOf(WordCodec.encode(word));
+    }
+
+    /**
+     * @param id word id
+     * @pre 0 <= id < size()
+     * @post Returns the first adjacency slot of the word
+     * @return inclusive start index
+     */
+    public int adjacencyStart(int id) {
+        return offsets.get(id);
+    }
+
+    /**
+     * @param id word id
+     * @pre 0 <= id < size()
+     * @post Returns one past the last adjacency slot of the word
+     * @return exclusive end index
+     */
+    public int adjacencyEnd(int id) {
+        return offsets.get(id + 1);
+    }
+
+    /**
+     * @param slot adjacency slot
+     * @pre slot lies within [adjacencyStart(id), adjacencyEnd(id)) for some id
+     * @post Returns the id of the neighbor stored in slot
+     * @return neighbor id
+     */
+    public int adjacent(int slot) {
+        return adjacency.get(slot);
+    }
+
+    /**
+     * @param id word id
+     * @pre 0 <= id < size()
+     * @post Returns the label of the connected component containing the word
+     * @return component id
+     */
+    public int component(int id) {
+        return components.get(id);
+    }
+
+    /**
+     * @post Returns the number of connected components
+     * @return component count
+     */
+    public int componentCount() {
+        return componentOffsets.capacity() - 1;
+    }
+
+    /**
+     * @param component component id
+     * @pre 0 <= component < componentCount()
+     * @post Returns the number of words in the component
+     * @return component size
+     */
+    public int componentSize(int component) {
+        return componentOffsets.get(component + 1) - componentOffsets.get(component);
+    }
+
+    /**
+     * @param component component id
+     * @param index position within the component
+     * @pre 0 <= index < componentSize(component)
+     * @post Returns the id of the index-th word of the component
+     * @return word id
+     */
+    public int componentMember(int component, int index) {
+        return componentMembers.get(componentOffsets.get(component) + index);
+    }
+
+    /**
+     * @param a first word id
+     * @param b second word id
+     * @pre Both ids must be valid
+     * @post Returns true if a ladder between the words exists
+     * @return whether the words share a component
+     */
+    public boolean connected(int a, int b) {
+        return components.get(a) == components.get(b);
+    }
+
+    /**
+     * @param source word id to measure from
+     * @pre 0 <= source < size()
+     * @post Returns the breadth-first distance from source to every word, -1 where unreachable
+     * @return distance table indexed by word id
+     */
+    public short[] distancesFrom(int source) {
+        return distancesFrom(source, new short[size]);
+    }
+
+    /**
+     * @param source word id to measure from
+     * @param distances table to fill, reused across calls to avoid allocation
+     * @pre 0 <= source < size() and distances.length >= size()
+     * @post distances holds the breadth-first distance from source to every word, -1 where unreachable
+     * @return the filled distances array
+     */
+    public short[] distancesFrom(int source, short[] distances) {
+        Arrays.fill(distances, 0, size, (short) -1);
+        SearchScratch scratch = SearchScratch.acquire(size);
+        try {
+            int[] queue = scratch.queue;
+            int mask = scratch.queueMask;
+            int head = 0;
+            int tail = 0;
+            distances[source] = 0;
+            queue[tail++ & mask] = source;
+            while (head != tail) {
+                int current = queue[head++ & mask];
+                short next = (short) (distances[current] + 1);
+                for (int k = offsets.get(current); k < offsets.get(current + 1); k++) {
+                    int neighbor = adjacency.get(k);
+                    if (distances[neighbor] < 0) {
+                        distances[neighbor] = next;
+                        queue[tail++ & mask] = neighbor;
+                    }
+                }
+            }
+        } finally {
+            SearchScratch.release(scratch);
+        }
+        return distances;
+    }
+
+    /**
+     * @post Returns the landmark tables for this graph, building them on first use
+     * @return landmarks
+     */
+    Landmarks landmarks() {
+        Landmarks result = landmarks;
+        if (result == null) {
+            synchronized (this) {
+                result = landmarks;
+                if (result == null) {
+                    result = Landmarks.select(this, Landmarks.DEFAULT_COUNT);
+                    landmarks = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @post Returns the cache of solved ladders on this graph, shared by everything that searches it
+     * @return path cache
+     */
+    public PathCache pathCache() {
+        PathCache result = pathCache;
+        if (result == null) {
+            synchronized (this) {
+                result = pathCache;
+                if (result == null) {
+                    result = new PathCache(PathCache.DEFAULT_CAPACITY);
+                    pathCache = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -1,10 +1,12 @@
 package controller;
 
+import Model.GameEventBus;
+import Model.GameEventListener;
+import Model.GameState;
 import Model.ModelInterface;
 import view.CombinedView;
 
 import java.util.List;
-import java.util.Observer;
 
 /**
  * The GameController class acts as the intermediary between the model and the view in the Weaver game.
@@ -14,7 +16,7 @@ import java.util.Observer;
  * check for a win condition, and handle other game operations like restarting the game,
  * undoing moves, and managing error messages. Additionally, it enables random word generation
  * and finds a path between two words. The controller also handles setting start and target words
- * and observing changes in the model.</p>
+ * and listening for game events from the model.</p>
  *
  * <p>Key methods include:</p>
  *
@@ -43,11 +45,20 @@ public class GameController{
     public boolean isWin(){return model.isWin();};
     public void restartGame(){model.restartGame();};
     public void undoMove(){model.undoMove();};
+    public boolean redoMove(){return model.redoMove();}
     public String getErrorMessage(){return model.getErrorMessage();};
-    public void addObserver(Observer o){model.addObserver(o);};
+    public void addGameEventListener(GameEventListener listener, GameEventBus.Delivery delivery){model.addGameEventListener(listener, delivery);}
     public List<String> findPath(String startWord, String targetWord){return model.findPath(startWord, targetWord);};
     public void setRandomWords(boolean enableRandomWord){model.setRandomWords(enableRandomWord);};
+    public void newGame(){model.batch(() -> {model.setRandomWords(true); model.restartGame();});}
     public void setStartWord(String east){model.setStartWord(east);};
     public void setTargetWord(String west){model.setTargetWord(west);};
+    public int getMovesRemaining(){return model.getMovesRemaining();}
+    public boolean isLastMoveOptimal(){return model.isLastMoveOptimal();}
+    public String getNextMoveHint(){return model.getNextMoveHint();}
+    public List<String> getHintPath(){return model.getHintPath();}
+    public boolean isLoaded(){return model.isLoaded();}
+    public GameState getState(){return model.getState();}
+    public String getpreviousword(){return model.getpreviousword();}
 
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package main;
 
+import Model.DictionaryRegistry;
+import Model.EventLog;
+import Model.GameEventBus;
 import Model.Model;
-import Model.ModelInterface;
+import Model.MoveJournal;
+import Model.WordGraph;
 import view.CombinedView;
 import controller.GameController;
 
@@ -10,9 +14,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class GuiMain {
 
+    private static final String JOURNAL_FILE = "weaver-gui.journal";
+    private static final int JOURNAL_GAME = 0;
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             try {
@@ -22,19 +31,20 @@ public class GuiMain {
                 if (!Files.exists(path)) {
                     try {
                         Files.createFile(path);
-                        System.out.println("Dictionary file created: " + dictionaryFile);
+                        if (EventLog.INFO) EventLog.info("Dictionary file created: " + dictionaryFile);
                     } catch (IOException ex) {
-                        System.err.println("Failed to create dictionary file: " + ex.getMessage());
+                        if (EventLog.ERROR) EventLog.error("Failed to create dictionary file: " + ex.getMessage());
                         return;
                     }
                 }
 
                 // 使用字典文件路径创建 Model 对象
-                ModelInterface model = new Model(dictionaryFile);
-                ((Model) model).setRandomWords(true);
+                // The window is shown straight away; the dictionary is read off the event dispatch thread
+                Model model = new Model(dictionaryFile, true);
                 GameController controller = new GameController(model);
                 CombinedView combinedView = new CombinedView(model, controller);
                 controller.setView(combinedView);
+                loadDictionary(dictionaryFile, model, combinedView);
 
             } catch (Exception e) {
                 e.printStackTrace();
@@ -42,4 +52,67 @@ public class GuiMain {
             }
         });
     }
+
+    /**
+     * @param dictionaryFile the dictionary to load
+     * @param model the model waiting for its dictionary
+     * @param view the view that shows the loading progress
+     * @pre must be called on the event dispatch thread
+     * @post The dictionary and the move journal are opened on a worker thread; progress and the result are delivered
+     *       on the event dispatch thread, where the unfinished game from the last run, if any, is resumed
+     */
+    private static void loadDictionary(String dictionaryFile, Model model, CombinedView view) {
+        new SwingWorker<WordGraph, Integer>() {
+            private MoveJournal journal;
+
+            @Override
+            protected WordGraph doInBackground() throws IOException {
+                WordGraph graph = DictionaryRegistry.acquire(dictionaryFile, this::publish);
+                try {
+                    journal = MoveJournal.open(Paths.get(JOURNAL_FILE));
+                    journal.closeOnExit();
+                } catch (IOException e) {
+                    if (EventLog.WARN) EventLog.warn("Game will not be saved: " + e.getMessage());
+                }
+                return graph;
+            }
+
+            @Override
+            protected void process(List<Integer> progress) {
+                view.showLoadingProgress(progress.get(progress.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    WordGraph graph = get();
+                    // One NEW_GAME event, whether a new game starts or the saved one is resumed
+                    model.batch(() -> {
+                        model.setDictionary(graph);
+                        if (journal != null) model.resume(journal, JOURNAL_GAME);
+                    });
+                    if (journal != null) saveEveryChange(model);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    if (EventLog.ERROR) EventLog.error("Error reading dictionary file: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(view, "Error loading dictionary: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * @param model a model with a journal attached
+     * @post After every change, a background thread waits until the change is on disk, so the event dispatch thread never does
+     */
+    private static void saveEveryChange(Model model) {
+        model.addGameEventListener(event -> {
+            try {
+                model.sync();
+            } catch (IOException e) {
+                // The journal has already reported why it stopped
+                if (EventLog.DEBUG) EventLog.debug("Change not saved: " + e.getMessage());
+            }
+        }, GameEventBus.Delivery.ASYNC);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,387 @@
+package server;
+
+import Model.DictionaryRegistry;
+import Model.EventLog;
+import Model.Model;
+import Model.MoveJournal;
+import Model.WordGraph;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Headless game server: many independent Weaver games in one JVM, played over HTTP with JSON responses.
+ *
+ * <p>Every session owns its own {@link Model}, and all of them share one immutable {@link WordGraph}
+ * (and with it the path cache), so a session costs only its game state. Requests are handled one per
+ * virtual thread when the JDK provides them, otherwise on a cached thread pool. Sessions that see no
+ * request for the time-to-live are dropped by a background sweep.</p>
+ *
+ * <p>With a {@link MoveJournal}, every session's game is recorded in it, and a request that changes a game
+ * is answered only once the change is on disk. Requests from many sessions share each fsync.</p>
+ *
+ * <pre>
+ * POST   /sessions                      start a session with a random game
+ * GET    /sessions/{id}                 current game
+ * DELETE /sessions/{id}                 end the session
+ * POST   /sessions/{id}/move?word=w     makeMove
+ * POST   /sessions/{id}/undo            undoMove
+ * POST   /sessions/{id}/redo            redoMove
+ * POST   /sessions/{id}/restart         restartGame
+ * POST   /sessions/{id}/random?enabled=true|false   setRandomWords
+ * GET    /sessions/{id}/path[?from=a&amp;to=b]  findPath, from the current position to the target by default
+ * GET    /stats                         session and request counters
+ * </pre>
+ *
+ * <p>Two JDK HTTP server settings matter under load and are JVM-wide, so {@link #main} sets them but
+ * {@link #start} leaves them alone. Applications embedding the server should launch with
+ * {@code -Dsun.net.httpserver.nodelay=true -Dsun.net.httpserver.maxIdleConnections=100000}.</p>
+ */
+public final class GameServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final long DEFAULT_SESSION_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final int BACKLOG = 1024;
+    private static final String SESSIONS = "/sessions";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final String MAX_IDLE_PROPERTY = "sun.net.httpserver.maxIdleConnections";
+
+    private final WordGraph dictionary;
+    private final long sessionTtlMillis;
+    private final LongSupplier clock;
+    private final MoveJournal journal;
+    private final HttpServer http;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService reaper;
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    private GameServer(WordGraph dictionary, int port, long sessionTtlMillis, LongSupplier clock, MoveJournal journal) throws IOException {
+        this.dictionary = dictionary;
+        this.sessionTtlMillis = sessionTtlMillis;
+        this.clock = clock;
+        this.journal = journal;
+        this.requestExecutor = newRequestExecutor();
+        this.http = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.http.setExecutor(requestExecutor);
+        this.http.createContext(SESSIONS, this::handleSessions);
+        this.http.createContext("/stats", this::handleStats);
+        this.reaper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMillis = Math.max(1, sessionTtlMillis / 4);
+        this.reaper.scheduleWithFixedDelay(this::expireSessions, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param dictionaryFile path of a text dictionary or a compiled graph file
+     * @param port the port to listen on, or 0 for any free port
+     * @param sessionTtlMillis how long a session may stay idle before it is dropped
+     * @pre dictionaryFile must not be null and sessionTtlMillis must be positive
+     * @post The server is listening and the dictionary has been loaded once for all sessions
+     * @return running server
+     * @throws IOException if the dictionary cannot be read or the port cannot be bound
+     */
+    public static GameServer start(String dictionaryFile, int port, long sessionTtlMillis) throws IOException {
+        return start(dictionaryFile, port, sessionTtlMillis, System::currentTimeMillis, null);
+    }
+
+    /**
+     * @param dictionaryFile path of a text dictionary or a compiled graph file
+     * @param port the port to listen on, or 0 for any free port
+     * @param sessionTtlMillis how long a session may stay idle before it is dropped
+     * @param clock the current time in milliseconds, as seen by session expiry
+     * @param journal the journal to record every session's game in, or null to keep games only in memory
+     * @pre dictionaryFile and clock must not be null and sessionTtlMillis must be positive
+     * @post The server is listening and the dictionary has been loaded once for all sessions;
+     *       games left in the journal by an earlier run are ended, since their sessions are gone
+     * @return running server
+     * @throws IOException if the dictionary cannot be read or the port cannot be bound
+     */
+    public static GameServer start(String dictionaryFile, int port, long sessionTtlMillis, LongSupplier clock,
+                                   MoveJournal journal) throws IOException {
+        assert dictionaryFile != null && clock != null && sessionTtlMillis > 0 : "Dictionary file, clock and a positive time-to-live are required";
+        GameServer server = new GameServer(DictionaryRegistry.acquire(dictionaryFile), port, sessionTtlMillis, clock, journal);
+        if (journal != null) {
+            for (int game : journal.getRecoveredGames()) {
+                journal.end(game);
+            }
+        }
+        server.http.start();
+        if (EventLog.INFO) EventLog.info("Game server listening on port " + server.getPort());
+        return server;
+    }
+
+    /**
+     * Usage: GameServer [port] [dictionary-file] [session-ttl-seconds] [journal-file]
+     *
+     * @param args command-line arguments
+     * @throws IOException if the server cannot start
+     */
+    public static void main(String[] args) throws IOException {
+        configureHttpServer();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String dictionaryFile = args.length > 1 ? args[1] : "dictionary.txt";
+        long ttl = args.length > 2 ? TimeUnit.SECONDS.toMillis(Long.parseLong(args[2])) : DEFAULT_SESSION_TTL_MILLIS;
+        MoveJournal journal = null;
+        if (args.length > 3) {
+            journal = MoveJournal.open(Paths.get(args[3]));
+            journal.closeOnExit();
+        }
+        GameServer server = start(dictionaryFile, port, ttl, System::currentTimeMillis, journal);
+        System.out.println("Weaver server on http://localhost:" + server.getPort() + SESSIONS);
+    }
+
+    /**
+     * @post The JDK HTTP server settings for many players are set, unless given on the command line;
+     *       they take effect only if no HTTP server has been created in this JVM yet
+     */
+    static void configureHttpServer() {
+        // Nagle's algorithm is on by default and stalls each small response on the client's delayed ACK; and by
+        // default only 200 idle keep-alive connections are kept, so with more players the server resets
+        // connections that clients are about to reuse
+        if (System.getProperty(NODELAY_PROPERTY) == null) System.setProperty(NODELAY_PROPERTY, "true");
+        if (System.getProperty(MAX_IDLE_PROPERTY) == null) System.setProperty(MAX_IDLE_PROPERTY, "100000");
+    }
+
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * @post The server no longer accepts requests and all sessions are dropped and their games ended
+     */
+    public void stop() {
+        http.stop(0);
+        reaper.shutdownNow();
+        requestExecutor.shutdown();
+        for (GameSession session : sessions.values()) {
+            session.getModel().detachJournal();
+        }
+        sessions.clear();
+    }
+
+    /**
+     * @post Returns a virtual-thread-per-task executor if the running JDK has one, otherwise a cached pool of daemon threads
+     * @return executor for request handling
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            // Looked up reflectively so the server still builds and runs on JDKs without virtual threads
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "game-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * @post Sessions idle for longer than the time-to-live are dropped; the background sweep calls this periodically
+     * @return number of sessions dropped
+     */
+    public int expireSessions() {
+        long now = clock.getAsLong();
+        int dropped = 0;
+        for (Iterator<GameSession> it = sessions.values().iterator(); it.hasNext(); ) {
+            GameSession session = it.next();
+            if (!session.isExpired(now, sessionTtlMillis)) continue;
+            it.remove();
+            session.getModel().detachJournal();
+            expired.increment();
+            dropped++;
+            if (EventLog.DEBUG) EventLog.debug("Session expired: " + session.getId());
+        }
+        return dropped;
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        requests.increment();
+        send(exchange, 200, new Json()
+                .field("sessions", sessions.size())
+                .field("created", created.sum())
+                .field("expired", expired.sum())
+                .field("requests", requests.sum())
+                .toString());
+    }
+
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            String[] parts = exchange.getRequestURI().getPath().substring(SESSIONS.length()).split("/");
+            // parts[0] is empty; parts[1] is the session id and parts[2] the action, when present
+            if (parts.length > 3) {
+                sendError(exchange, 404, "No such resource");
+            } else if (parts.length <= 1) {
+                if (!requireMethod(exchange, "POST")) return;
+                GameSession session = newSession();
+                if (!saved(exchange, session.getModel())) return;
+                send(exchange, 201, session.toJson().toString());
+            } else {
+                GameSession session = sessions.get(parts[1]);
+                if (session == null) {
+                    sendError(exchange, 404, "No such session");
+                    return;
+                }
+                session.touch(clock.getAsLong());
+                handleAction(exchange, session, parts.length == 3 ? parts[2] : "");
+            }
+        } catch (RuntimeException e) {
+            if (EventLog.ERROR) EventLog.error("Request failed: " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        }
+    }
+
+    private GameSession newSession() {
+        String id = UUID.randomUUID().toString();
+        GameSession session = new GameSession(id, dictionary, journal, clock.getAsLong());
+        sessions.put(id, session);
+        created.increment();
+        return session;
+    }
+
+    private void handleAction(HttpExchange exchange, GameSession session, String action) throws IOException {
+        Model model = session.getModel();
+        Map<String, String> query = query(exchange);
+        switch (action) {
+            case "":
+                if ("DELETE".equals(exchange.getRequestMethod())) {
+                    sessions.remove(session.getId());
+                    model.detachJournal();
+                    send(exchange, 200, new Json().field("session", session.getId()).field("deleted", true).toString());
+                } else if (requireMethod(exchange, "GET")) {
+                    send(exchange, 200, session.toJson().toString());
+                }
+                break;
+            case "move": {
+                if (!requireMethod(exchange, "POST")) return;
+                String word = query.get("word");
+                if (word == null || word.length() != model.getState().getPosition().length()) {
+                    sendError(exchange, 400, "Parameter word must have as many letters as the current word");
+                    return;
+                }
+                boolean accepted = model.makeMove(word);
+                if (accepted && !saved(exchange, model)) return;
+                send(exchange, 200, session.toJson().field("accepted", accepted).toString());
+                break;
+            }
+            case "undo":
+                if (!requireMethod(exchange, "POST")) return;
+                model.undoMove();
+                if (!saved(exchange, model)) return;
+                send(exchange, 200, session.toJson().toString());
+                break;
+            case "redo":
+                if (!requireMethod(exchange, "POST")) return;
+                boolean redone = model.redoMove();
+                if (redone && !saved(exchange, model)) return;
+                send(exchange, 200, session.toJson().field("accepted", redone).toString());
+                break;
+            case "restart":
+                if (!requireMethod(exchange, "POST")) return;
+                model.restartGame();
+                if (!saved(exchange, model)) return;
+                send(exchange, 200, session.toJson().toString());
+                break;
+            case "random":
+                if (!requireMethod(exchange, "POST")) return;
+                model.setRandomWords(!"false".equalsIgnoreCase(query.get("enabled")));
+                if (!saved(exchange, model)) return;
+                send(exchange, 200, session.toJson().toString());
+                break;
+            case "path": {
+                if (!requireMethod(exchange, "GET")) return;
+                String from = query.getOrDefault("from", model.getState().getPosition());
+                String to = query.getOrDefault("to", model.getState().getTargetWord());
+                if (from.length() != to.length() || dictionary.indexOf(from) < 0 || dictionary.indexOf(to) < 0) {
+                    sendError(exchange, 400, "Parameters from and to must be dictionary words of the same length");
+                    return;
+                }
+                List<String> path = model.findPath(from.toLowerCase(), to.toLowerCase());
+                send(exchange, 200, new Json().field("from", from).field("to", to).field("path", path).toString());
+                break;
+            }
+            default:
+                sendError(exchange, 404, "No such action: " + action);
+                break;
+        }
+    }
+
+    /**
+     * @post Returns true once every change to model is on disk; otherwise the client has been sent an error
+     * @return whether the change is saved
+     */
+    private static boolean saved(HttpExchange exchange, Model model) throws IOException {
+        try {
+            model.sync();
+            return true;
+        } catch (IOException e) {
+            sendError(exchange, 503, "The change could not be saved");
+            return false;
+        }
+    }
+
+    private static boolean requireMethod(HttpExchange exchange, String method) throws IOException {
+        if (method.equals(exchange.getRequestMethod())) return true;
+        exchange.getResponseHeaders().set("Allow", method);
+        sendError(exchange, 405, "Use " + method);
+        return false;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) return parameters;
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals <= 0) continue;
+            parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new Json().field("error", message).toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
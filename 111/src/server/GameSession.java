@@ -0,0 +1,66 @@
+package server;
+
+import Model.GameState;
+import Model.Model;
+import Model.MoveJournal;
+import Model.WordGraph;
+
+/**
+ * One player's game on the server. The model is thread-safe, so requests for the same session may overlap.
+ */
+final class GameSession {
+
+    private final String id;
+    private final Model model;
+    private volatile long lastAccess;
+
+    /**
+     * @param id the session id handed to the client
+     * @param dictionary the dictionary shared by every session
+     * @param journal the journal to record the game in, or null
+     * @param now the current time in milliseconds
+     * @pre id and dictionary must not be null
+     * @post The session plays a new random game on the shared dictionary, recorded as a new game in journal
+     */
+    GameSession(String id, WordGraph dictionary, MoveJournal journal, long now) {
+        this.id = id;
+        this.model = new Model(dictionary);
+        if (journal != null) model.resume(journal, journal.newGameId());
+        this.lastAccess = now;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Model getModel() {
+        return model;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    boolean isExpired(long now, long ttlMillis) {
+        return now - lastAccess > ttlMillis;
+    }
+
+    /**
+     * @post Returns a JSON writer holding the session id and one consistent snapshot of the game
+     * @return JSON object under construction
+     */
+    Json toJson() {
+        GameState state = model.getState();
+        return new Json()
+                .field("session", id)
+                .field("start", state.getStartWord())
+                .field("target", state.getTargetWord())
+                .field("position", state.getPosition())
+                .field("moves", state.getMoveHistory())
+                .field("status", state.getStatusMessage())
+                .field("error", state.getErrorMessage())
+                .field("optimal", state.isLastMoveOptimal())
+                .field("canRedo", state.canRedo())
+                .field("won", state.isWin());
+    }
+}
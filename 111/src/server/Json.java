@@ -0,0 +1,134 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The little JSON the game server needs: writing flat objects, and reading single fields back in clients.
+ */
+public final class Json {
+
+    private final StringBuilder out = new StringBuilder(128).append('{');
+    private boolean first = true;
+
+    Json field(String name, String value) {
+        name(name);
+        quote(value);
+        return this;
+    }
+
+    Json field(String name, boolean value) {
+        name(name);
+        out.append(value);
+        return this;
+    }
+
+    Json field(String name, long value) {
+        name(name);
+        out.append(value);
+        return this;
+    }
+
+    Json field(String name, double value) {
+        name(name);
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * @param name field name
+     * @param values the strings to write, or null to write null
+     * @post The field has been appended as a JSON array of strings
+     * @return this writer
+     */
+    Json field(String name, List<String> values) {
+        name(name);
+        if (values == null) {
+            out.append("null");
+            return this;
+        }
+        out.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) out.append(',');
+            quote(values.get(i));
+        }
+        out.append(']');
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out + "}";
+    }
+
+    private void name(String name) {
+        if (!first) out.append(',');
+        first = false;
+        quote(name);
+        out.append(':');
+    }
+
+    private void quote(String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * @param json a flat object written by this class
+     * @param name field name
+     * @post Returns the field's string value, or null if the field is missing or null
+     * @return string value
+     */
+    public static String string(String json, String name) {
+        int start = valueStart(json, name);
+        if (start < 0 || json.charAt(start) != '"') return null;
+        return json.substring(start + 1, json.indexOf('"', start + 1));
+    }
+
+    /**
+     * @param json a flat object written by this class
+     * @param name field name
+     * @post Returns true only if the field is present and true
+     * @return boolean value
+     */
+    public static boolean bool(String json, String name) {
+        int start = valueStart(json, name);
+        return start >= 0 && json.startsWith("true", start);
+    }
+
+    /**
+     * @param json a flat object written by this class, whose strings contain no quotes or commas
+     * @param name field name
+     * @post Returns the field's array of strings, or null if the field is missing or null
+     * @return string values
+     */
+    public static List<String> strings(String json, String name) {
+        int start = valueStart(json, name);
+        if (start < 0 || json.charAt(start) != '[') return null;
+        String body = json.substring(start + 1, json.indexOf(']', start));
+        List<String> values = new ArrayList<>();
+        for (String item : body.split(",")) {
+            if (item.length() >= 2) values.add(item.substring(1, item.length() - 1));
+        }
+        return values;
+    }
+
+    private static int valueStart(String json, String name) {
+        int at = json.indexOf("\"" + name + "\":");
+        return at < 0 ? -1 : at + name.length() + 3;
+    }
+}
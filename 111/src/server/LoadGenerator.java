@@ -0,0 +1,184 @@
+package server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local load generator for {@link GameServer}: simulated players that each open a session and keep solving
+ * puzzles by asking for the path and playing its next word, starting a new random game after every win.
+ *
+ * <p>Every request's latency is recorded; the run ends with the request rate and latency percentiles.
+ * Without a URL an in-process server is started on a free port, so a single box measures itself.</p>
+ */
+public final class LoadGenerator {
+
+    private static final int DEFAULT_CLIENTS = 100;
+    private static final int DEFAULT_SECONDS = 10;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+
+    private LoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Usage: LoadGenerator [clients] [seconds] [server-url]
+     *
+     * @param args command-line arguments
+     * @throws Exception if the local server cannot start or a player fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+        GameServer local = null;
+        String url;
+        if (args.length > 2) {
+            url = args[2];
+        } else {
+            GameServer.configureHttpServer();
+            local = GameServer.start("dictionary.txt", 0, GameServer.DEFAULT_SESSION_TTL_MILLIS);
+            url = "http://localhost:" + local.getPort();
+        }
+        try {
+            System.out.println(new LoadGenerator(url).run(clients, TimeUnit.SECONDS.toMillis(seconds)));
+        } finally {
+            if (local != null) local.stop();
+        }
+    }
+
+    /**
+     * @param clients number of simulated players
+     * @param durationMillis how long to keep sending requests
+     * @pre clients and durationMillis must be positive
+     * @post Returns the measured throughput and latency
+     * @return run summary
+     * @throws InterruptedException if interrupted while waiting for the players
+     * @throws ExecutionException if a player fails
+     */
+    public Result run(int clients, long durationMillis) throws InterruptedException, ExecutionException {
+        assert clients > 0 && durationMillis > 0 : "Clients and duration must be positive";
+        ExecutorService players = GameServer.newRequestExecutor();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        List<Future<Latencies>> results = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            results.add(players.submit(() -> play(deadline)));
+        }
+        Latencies all = new Latencies();
+        for (Future<Latencies> result : results) {
+            all.addAll(result.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        players.shutdown();
+        return new Result(clients, elapsed, all.sorted());
+    }
+
+    private Latencies play(long deadline) throws IOException, InterruptedException {
+        Latencies latencies = new Latencies();
+        String session = Json.string(send("POST", "/sessions", latencies), "session");
+        String prefix = "/sessions/" + session;
+        while (System.nanoTime() < deadline) {
+            List<String> path = Json.strings(send("GET", prefix + "/path", latencies), "path");
+            if (path == null || path.size() < 2) {
+                send("POST", prefix + "/random", latencies);
+                continue;
+            }
+            String moved = send("POST", prefix + "/move?word=" + path.get(1), latencies);
+            if (Json.bool(moved, "won")) {
+                send("POST", prefix + "/random", latencies);
+            }
+        }
+        send("DELETE", prefix, latencies);
+        return latencies;
+    }
+
+    private String send(String method, String path, Latencies latencies) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        latencies.add(System.nanoTime() - start);
+        if (response.statusCode() >= 400) {
+            throw new IOException(method + " " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    /**
+     * Request latencies of one player, in nanoseconds; not thread-safe.
+     */
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long nanos) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nanos;
+        }
+
+        private void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        private long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Outcome of one load run.
+     */
+    public static final class Result {
+        private final int clients;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        private Result(int clients, long elapsedNanos, long[] sortedLatencies) {
+            this.clients = clients;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        public long getRequests() {
+            return sortedLatencies.length;
+        }
+
+        public double getRequestsPerSecond() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @post Returns the latency below which the given percentage of requests completed, or 0 if there were none
+         * @return latency in milliseconds
+         */
+        public double getLatencyMillis(double percentile) {
+            if (sortedLatencies.length == 0) return 0;
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d clients, %d requests in %.1f s: %.0f requests/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    clients, getRequests(), elapsedNanos / 1e9, getRequestsPerSecond(),
+                    getLatencyMillis(50), getLatencyMillis(99), getLatencyMillis(100));
+        }
+    }
+}
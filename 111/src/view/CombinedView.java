@@ -7,20 +7,22 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import javax.swing.border.TitledBorder;
 
+import Model.EventLog;
+import Model.GameEvent;
+import Model.GameEventBus;
+import Model.GameEventListener;
 import Model.ModelInterface; //Just parameters
-import java.util.Observable;
-import java.util.Observer;
-import javax.swing.border.Border;
 import javax.swing.BorderFactory;
 import controller.GameController;
 
-public class CombinedView extends JFrame implements Observer, ActionListener, KeyListener, FocusListener {
+public class CombinedView extends JFrame implements GameEventListener, ActionListener, KeyListener, FocusListener {
 
     private final ModelInterface model;
     private final WordGridPanel gridPanel;
@@ -28,6 +30,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
     private final JButton newGameButton;
     private final JButton showPathButton;
     private final JButton undoButton;
+    private final JButton redoButton;
     private final JButton resetButton;
     private String currentGuess = "";
     private String previousWord = "";
@@ -51,6 +54,9 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
     private boolean enableRandomWord = true;
     private GameController controller;
     private JButton saveButton; // saveButton
+    private final JLabel loadingLabel;
+    private boolean loading;
+    private SwingWorker<List<String>, Void> pathWorker; // in-flight Show Path search, if any
 
 
     public CombinedView(ModelInterface model, GameController controller) {
@@ -58,7 +64,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
 
         this.model = model;
         this.controller = controller;
-        model.addObserver(this);//Just parameters
+        model.addGameEventListener(this, GameEventBus.Delivery.EDT);//Just parameters
 
         if (controller instanceof GameController) {
             ((GameController) controller).setView(this);
@@ -91,8 +97,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
 
             switch (command) {
                 case "NEW_GAME":
-                    controller.setRandomWords(true); // Regenerate random words
-                    controller.restartGame();
+                    controller.newGame(); // Regenerate random words and restart as one action
                     break;
                 case "RESET":
                     controller.undoMove();
@@ -130,6 +135,13 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
         undoButton.setFocusable(false);
         buttonPanel.add(undoButton);
 
+        redoButton = new JButton("Redo");
+        redoButton.setActionCommand("REDO");
+        redoButton.addActionListener(this);
+        redoButton.setEnabled(false);
+        redoButton.setFocusable(false);
+        buttonPanel.add(redoButton);
+
         resetButton = new JButton("Reset");
         resetButton.setActionCommand("INITIALIZE");
         resetButton.addActionListener(this);
@@ -143,6 +155,9 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
         buttonPanel.add(settingsButton);
 
         topPanel.add(buttonPanel);
+
+        loadingLabel = new JLabel();
+        topPanel.add(loadingLabel);
         container.add(topPanel, BorderLayout.NORTH);
 
         JPanel gridContainer = new JPanel(new BorderLayout());
@@ -153,28 +168,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
         titledBorder.setTitleJustification(TitledBorder.CENTER);
         gridContainer.setBorder(titledBorder);
 
-        JPanel startWordPanel = new JPanel();
-        startWordPanel.setLayout(new FlowLayout(FlowLayout.CENTER));
-        startWordPanel.setBackground(Color.WHITE);
-
-        JPanel movesPanel = new JPanel();
-        movesPanel.setLayout(new BoxLayout(movesPanel, BoxLayout.Y_AXIS));
-        movesPanel.setBackground(Color.WHITE);
-
-        JScrollPane scrollPane = new JScrollPane(movesPanel);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setPreferredSize(new Dimension(300, 200));
-
-        JPanel targetWordPanel = new JPanel();
-        targetWordPanel.setLayout(new FlowLayout(FlowLayout.CENTER));
-        targetWordPanel.setBackground(Color.WHITE);
-        targetWordPanel.setBorder(new EmptyBorder(0, 0, 20, 0));
-
         gridPanel = new WordGridPanel(model);
-        gridPanel.setLayout(new BoxLayout(gridPanel, BoxLayout.Y_AXIS));
-        gridPanel.add(startWordPanel);
-        gridPanel.add(scrollPane);
-        gridPanel.add(targetWordPanel);
 
         gridContainer.add(gridPanel, BorderLayout.CENTER);
         container.add(gridContainer, BorderLayout.CENTER);
@@ -256,6 +250,46 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
         settingsDialog.add(saveButtonPanel, BorderLayout.SOUTH);
 
         newGameButton.setEnabled(enableRandomWord);
+
+        if (!controller.isLoaded()) {
+            loading = true;
+            loadingLabel.setText("Loading dictionary...");
+            setControlsEnabled(false);
+        }
+    }
+
+    /**
+     * @param percent loading progress between 0 and 100
+     * @pre must be called on the event dispatch thread
+     * @post The loading label shows the progress
+     */
+    public void showLoadingProgress(int percent) {
+        if (loading) {
+            loadingLabel.setText("Loading dictionary... " + percent + "%");
+        }
+    }
+
+    // Leaves the loading state once the first game has been set up
+    private void finishLoading() {
+        loading = false;
+        loadingLabel.setText("");
+        initialStartWord = controller.getStartWord();
+        initialTargetWord = controller.getTargetWord();
+        setControlsEnabled(true);
+    }
+
+    private void setControlsEnabled(boolean enabled) {
+        if (enabled) {
+            enableKeyboard();
+        } else {
+            disableKeyboard();
+        }
+        newGameButton.setEnabled(enabled && enableRandomWord);
+        showPathButton.setEnabled(enabled && !showAnswerPathCheckBox.isSelected());
+        resetButton.setEnabled(enabled);
+        settingsButton.setEnabled(enabled);
+        undoButton.setEnabled(enabled && !controller.getMoveHistory().isEmpty());
+        redoButton.setEnabled(enabled && controller.getState().canRedo());
     }
 
     public void updateGrid() {
@@ -263,39 +297,45 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
     }
 
     @Override
-    public void update(Observable o, Object arg) {
-        System.out.println("CombinedView.update() called with arg: " + arg);
+    public void onGameEvent(GameEvent event) {
+        if (EventLog.DEBUG) EventLog.debug("CombinedView.onGameEvent() called with event: " + event);
         startWord = controller.getStartWord();
         targetWord = controller.getTargetWord();
-        updateGrid(); // Call updateGrid method
+        if (event.getType() == GameEvent.Type.NEW_GAME) {
+            currentGuess = "";
+        }
+        updateGrid(); // Call updateGrid method, which only touches rows that changed
 
         if (controller.getMoveHistory().size() > 0) {
         } else {
         }
 
         undoButton.setEnabled(!controller.getMoveHistory().isEmpty());
+        redoButton.setEnabled(controller.getState().canRedo());
 
-        if (arg instanceof String) {
-            String message = (String) arg;
-            switch (message) {
-                case "NO CHANGE":
-                case "NOT IN DICTIONARY":
-                case "NOT ONE LETTER DIFFERENT":
-                    if (showErrorMessages) {
-                        showMessageDialog(message); // Show message dialog
-                    }
-                    break;
-                case "VALID MOVE":
-                    break;
-                case "NEW_GAME": // Listen for "NEW_GAME"
-                    currentGuess = "";
-                    updateGrid();
-                    break;
-                case "GAME WON":
-                    break;
-                default:
-                    break;
-            }
+        if (!event.getType().isError()) {
+            cancelPathSearch();
+        }
+
+        switch (event.getType()) {
+            case NO_CHANGE:
+            case NOT_IN_DICTIONARY:
+            case NOT_ONE_LETTER_DIFFERENT:
+                if (showErrorMessages) {
+                    showMessageDialog(event.getType().name().replace('_', ' ')); // Show message dialog
+                }
+                break;
+            case VALID_MOVE:
+                break;
+            case NEW_GAME: // Listen for NEW_GAME
+                if (loading && controller.isLoaded()) {
+                    finishLoading();
+                }
+                break;
+            case GAME_WON:
+                break;
+            default:
+                break;
         }
     }
 
@@ -309,7 +349,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
     }
 
     public void appendGuess(String letter) {
-        if (currentGuess.length() < 4) {
+        if (!loading && currentGuess.length() < 4) {
             currentGuess += letter;
             updateGrid();
             requestFocusInWindow();
@@ -325,6 +365,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
     }
 
     public void submitGuess() {
+        if (loading) return;
         if (currentGuess.length() == 4) {
             if (controller.makeMove(currentGuess)) {
                 previousWord = currentGuess;
@@ -363,7 +404,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
     @Override
     public void actionPerformed(ActionEvent e) {
         String command = e.getActionCommand();
-        System.out.println("CombinedView.actionPerformed() called with command: " + command);
+        if (EventLog.DEBUG) EventLog.debug("CombinedView.actionPerformed() called with command: " + command);
 
         switch (command) {
             case "NEW_GAME":
@@ -373,20 +414,7 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
                 updateGrid();
                 break;
             case "SHOW_PATH":
-                List<String> path = controller.findPath(controller.getStartWord(), controller.getTargetWord());
-                if (path != null && !path.isEmpty()) {
-                    StringBuilder pathString = new StringBuilder();
-                    for (int i = 0; i < path.size(); i++) {
-                        pathString.append(path.get(i));
-                        if (i < path.size() - 1) {
-                            pathString.append(" -> ");
-                        }
-                    }
-                    pathTextArea.setText(pathString.toString()); // Update text area
-                    pathDialog.setVisible(true); // Show dialog
-                } else {
-                    showMessage("No path found!");
-                }
+                showPath();
                 requestFocusInWindow();
                 break;
             case "UNDO":
@@ -395,6 +423,12 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
                 updateGrid();
                 requestFocusInWindow();
                 break;
+            case "REDO":
+                controller.redoMove();
+                currentGuess = "";
+                updateGrid();
+                requestFocusInWindow();
+                break;
             case "INITIALIZE":
                 // Reset game to initial state
                 if (enableRandomWord) {
@@ -416,6 +450,53 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
         }
     }
 
+    /**
+     * @pre must be called on the event dispatch thread
+     * @post A path search from the current word to the target runs on a worker thread; its result is shown in pathDialog
+     *       unless the search is cancelled first
+     */
+    private void showPath() {
+        cancelPathSearch();
+        String previous = controller.getpreviousword();
+        String from = previous.isEmpty() ? controller.getStartWord() : previous;
+        String to = controller.getTargetWord();
+
+        pathWorker = new SwingWorker<List<String>, Void>() {
+            @Override
+            protected List<String> doInBackground() {
+                return controller.findPath(from, to);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || pathWorker != this) return;
+                pathWorker = null;
+                List<String> path;
+                try {
+                    path = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    if (EventLog.WARN) EventLog.warn("Path search failed: " + e.getMessage());
+                    return;
+                }
+                if (path != null && !path.isEmpty()) {
+                    pathTextArea.setText(String.join(" -> ", path)); // Update text area
+                    pathDialog.setVisible(true); // Show dialog
+                } else {
+                    showMessage("No path found!");
+                }
+            }
+        };
+        pathWorker.execute();
+    }
+
+    // Interrupts the Show Path search once the position it was started from is gone
+    private void cancelPathSearch() {
+        if (pathWorker != null) {
+            pathWorker.cancel(true);
+            pathWorker = null;
+        }
+    }
+
     // Enable keyboard panel
     private void enableKeyboard() {
         for (Component component : keyboard.getComponents()) {
@@ -509,123 +590,34 @@ public class CombinedView extends JFrame implements Observer, ActionListener, Ke
         }
     }
 
-    public class WordGridPanel extends JPanel implements Observer {
-
-        private String startWord;
-        private String targetWord;
-        private String currentWord;
-        private List<String> moveHistory;
-        private final JLabel messageLabel;
-        private int currentRowIndex;
-        private ModelInterface model;
-        private List<JPanel> wordPanels;
-        private String submittedGuess; // Add a variable to store the submitted guess
-        private boolean gameWon = false;
+    /**
+     * The ladder grid: one {@link LetterTileGrid} in a scroll pane, fed from the controller's state.
+     */
+    public class WordGridPanel extends JPanel {
+
+        private final ModelInterface model;
+        private final LetterTileGrid tileGrid = new LetterTileGrid();
+
         public WordGridPanel(ModelInterface model) {
             this.model = model;
-            setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+            setLayout(new BorderLayout());
             setBorder(BorderFactory.createEmptyBorder(5, 20, 20, 20));
             setBackground(Color.WHITE);
-            moveHistory = new ArrayList<>();
-            currentWord = "";
-            messageLabel = new JLabel("", SwingConstants.CENTER);
-            currentRowIndex = 0;
-            wordPanels = new ArrayList<>();
-            controller.addObserver(this);
-            this.submittedGuess = ""; // Initialize to empty string
-        }
-
-        public void updateGrid(List<String> moveHistory, String startWord, String targetWord, String currentWord) {
-            System.out.println("WordGridPanel.updateGrid() called");
-            SwingUtilities.invokeLater(() -> {
-                this.startWord = startWord;
-                this.targetWord = targetWord;
-                this.currentWord = currentWord;
-                this.moveHistory = new ArrayList<>(moveHistory);
-                this.gameWon = controller.isWin();
-
-                removeAll();
-                wordPanels.clear();
-
-
-                // Add start word
-                JPanel startWordPanel = createWordPanel(startWord != null ? startWord : " ", false); // startWord should not be highlighted
-                add(startWordPanel);
-
-                // Create a JPanel to contain moveHistory and currentWord
-                JPanel movesPanel = new JPanel();
-                movesPanel.setLayout(new BoxLayout(movesPanel, BoxLayout.Y_AXIS));
-                movesPanel.setBackground(Color.WHITE);
-
-                // Add moveHistory and currentWord to movesPanel
-                for (String word : moveHistory) {
-                    addWordPanelToPanel(word != null ? word : " ", true, movesPanel); // History moves should be highlighted
-                }
 
-                // Only add currentWord if the game is not won
-                if (!gameWon) {
-                    addWordPanelToPanel(currentWord, false, movesPanel); // currentWord should not be highlighted
-                }
-
-                // Put movesPanel into JScrollPane
-                JScrollPane scrollPane = new JScrollPane(movesPanel);
-                scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-                scrollPane.setPreferredSize(new Dimension(300, 350)); // Set preferred size
-                add(scrollPane);
-
-                // Add target word
-                JPanel targetWordPanel = createWordPanel(targetWord != null ? targetWord : " ", true); // targetWord should be highlighted
-                targetWordPanel.setBorder(new EmptyBorder(0, 0, 20, 0)); // Reduce top margin, increase bottom margin
-                add(targetWordPanel);
-
-                revalidate();
-                repaint();
-            });
+            JScrollPane scrollPane = new JScrollPane(tileGrid);
+            scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+            scrollPane.setBorder(BorderFactory.createEmptyBorder());
+            add(scrollPane, BorderLayout.CENTER);
         }
 
-        private void addWordPanelToPanel(String word, boolean shouldHighlight, JPanel panel) {
-            JPanel wordPanel = createWordPanel(word, shouldHighlight);
-            wordPanels.add(wordPanel);
-            panel.add(wordPanel);
-        }
-
-        private JPanel createWordPanel(String word, boolean shouldHighlight) {
-            System.out.println("WordGridPanel.createWordPanel() called with word: " + word + ", shouldHighlight: " + shouldHighlight);
-            JPanel wordPanel = new JPanel(new FlowLayout());
-            wordPanel.setBackground(Color.WHITE);
-
-            Border border = BorderFactory.createLineBorder(Color.GRAY);
-
-            for (int i = 0; i < 4; i++) {
-                String letter = (i < word.length()) ? String.valueOf(word.charAt(i)).toUpperCase() : " ";
-                JButton letterButton = new JButton(letter);
-                letterButton.setPreferredSize(new Dimension(50, 50));
-                letterButton.setFont(new Font("Arial", Font.BOLD, 20));
-                letterButton.setFocusPainted(false);
-                letterButton.setEnabled(false);
-                letterButton.setBorder(border);
-
-                if (shouldHighlight && targetWord != null && i < targetWord.length() && letter.equals(String.valueOf(targetWord.charAt(i)).toUpperCase())) {
-                    letterButton.setBackground(Color.GREEN);
-                    letterButton.setForeground(Color.WHITE);
-                }
-
-                wordPanel.add(letterButton);
-            }
-
-            return wordPanel;
-        }
-
-        @Override
-        public void update(Observable o, Object arg) {
-            if (o == model) {
-                if (arg instanceof String && arg.equals("VALID_MOVE")) {
-                    this.submittedGuess = controller.getMoveHistory().get(controller.getMoveHistory().size() - 1);
-                } else {
-                    this.submittedGuess = "";
-                }
-                updateGrid(controller.getMoveHistory(), controller.getStartWord(), controller.getTargetWord(), currentWord);
+        public void updateGrid(List<String> moveHistory, String startWord, String targetWord, String currentWord) {
+            if (!SwingUtilities.isEventDispatchThread()) {
+                // The history is an immutable snapshot of the model state, so it can be handed over as is
+                SwingUtilities.invokeLater(() -> updateGrid(moveHistory, startWord, targetWord, currentWord));
+                return;
             }
+            // Only show currentWord if the game is not won
+            tileGrid.setLadder(moveHistory, startWord, targetWord, currentWord, !controller.isWin());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,271 @@
+package view;
+
+import javax.swing.JComponent;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The whole word ladder painted by one component: start word, moves, current guess and target word.
+ *
+ * <p>Every tile is a pre-rendered image, one per letter and tile state, created on first use and reused
+ * for every later paint. Only the rows inside the clip are painted, so a long ladder in a scroll pane
+ * costs no more per frame than a short one. Updates repaint only the rows that changed.</p>
+ */
+public class LetterTileGrid extends JComponent implements Scrollable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int WORD_LENGTH = 4;
+    private static final int TILE_SIZE = 50;
+    private static final int GAP = 5;
+    private static final int ROW_HEIGHT = TILE_SIZE + GAP;
+    private static final int ROW_WIDTH = WORD_LENGTH * ROW_HEIGHT - GAP;
+    private static final int BLANK = 26;
+
+    private static final Font TILE_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Color BORDER_COLOR = Color.GRAY;
+
+    /**
+     * How a tile is drawn: a plain letter, a letter in its place in the target word, or a letter being typed.
+     */
+    private enum TileState {
+        PLAIN(new Color(238, 238, 238), Color.DARK_GRAY),
+        MATCH(Color.GREEN, Color.WHITE),
+        GUESS(Color.WHITE, Color.BLACK);
+
+        private final Color background;
+        private final Color foreground;
+
+        TileState(Color background, Color foreground) {
+            this.background = background;
+            this.foreground = foreground;
+        }
+    }
+
+    private final BufferedImage[][] tiles = new BufferedImage[TileState.values().length][BLANK + 1];
+    private final List<String> moves = new ArrayList<>();
+    private List<String> painted = List.of();
+    private String startWord = "";
+    private String targetWord = "";
+    private String guess = "";
+    private boolean showGuess = true;
+
+    public LetterTileGrid() {
+        setOpaque(true);
+        setBackground(Color.WHITE);
+    }
+
+    /**
+     * @param moveHistory the moves made so far
+     * @param startWord the start word, or null
+     * @param targetWord the target word, or null
+     * @param guess the letters typed so far
+     * @param showGuess whether the guess row is shown
+     * @pre must be called on the event dispatch thread; moveHistory and guess must not be null,
+     *      and moveHistory must not change after the call, as with the model's history snapshots
+     * @post The grid shows the given ladder; only rows that changed are repainted
+     */
+    public void setLadder(List<String> moveHistory, String startWord, String targetWord, String guess, boolean showGuess) {
+        startWord = startWord == null ? "" : startWord;
+        targetWord = targetWord == null ? "" : targetWord;
+
+        if (!targetWord.equals(this.targetWord) || !startWord.equals(this.startWord)) {
+            // Every highlighted row depends on the target
+            this.startWord = startWord;
+            this.targetWord = targetWord;
+            repaint();
+        }
+
+        // Rows on screen are kept up to the first position where they differ from the history. The persistent
+        // history walks back from its end on every get, so it is read in one pass of its iterator instead
+        int before = moves.size();
+        int kept = before;
+        if (moveHistory != painted) {
+            kept = 0;
+            int index = 0;
+            for (String word : moveHistory) {
+                if (index == kept && kept < before && Objects.equals(moves.get(kept), word)) {
+                    kept++;
+                } else {
+                    if (index == kept) moves.subList(kept, before).clear();
+                    moves.add(word);
+                }
+                index++;
+            }
+            if (index == kept) moves.subList(kept, before).clear();
+            painted = moveHistory;
+        }
+        boolean changed = kept != before || kept != moves.size() || showGuess != this.showGuess;
+        this.showGuess = showGuess;
+
+        if (changed) {
+            revalidate();
+            // Everything from the first changed row down is repainted
+            repaint(0, rowTop(1 + kept), getWidth(), getHeight());
+            scrollRectToVisible(rowBounds(showGuess ? guessRow() : rowCount() - 1));
+        } else if (!guess.equals(this.guess)) {
+            repaint(rowBounds(guessRow()));
+        }
+        this.guess = guess;
+    }
+
+    private int rowCount() {
+        return moves.size() + (showGuess ? 3 : 2);
+    }
+
+    private int guessRow() {
+        return moves.size() + 1;
+    }
+
+    private int rowTop(int row) {
+        return GAP + row * ROW_HEIGHT;
+    }
+
+    private int rowLeft() {
+        return Math.max(GAP, (getWidth() - ROW_WIDTH) / 2);
+    }
+
+    private Rectangle rowBounds(int row) {
+        return new Rectangle(rowLeft(), rowTop(row), ROW_WIDTH, TILE_SIZE);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int first = Math.max(0, (clip.y - GAP) / ROW_HEIGHT);
+        int last = Math.min(rowCount() - 1, (clip.y + clip.height) / ROW_HEIGHT);
+        int left = rowLeft();
+        for (int row = first; row <= last; row++) {
+            paintRow(g, row, left, rowTop(row));
+        }
+    }
+
+    private void paintRow(Graphics g, int row, int left, int top) {
+        String word;
+        boolean highlight;
+        TileState typing = null;
+        if (row == 0) {
+            word = startWord;
+            highlight = false;
+        } else if (row == rowCount() - 1) {
+            word = targetWord;
+            highlight = true;
+        } else if (showGuess && row == guessRow()) {
+            word = guess;
+            highlight = false;
+            typing = TileState.GUESS;
+        } else {
+            word = moves.get(row - 1);
+            highlight = true;
+        }
+
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = i < word.length() ? letterIndex(word.charAt(i)) : BLANK;
+            TileState state = typing != null ? typing
+                    : highlight && letter != BLANK && i < targetWord.length() && letter == letterIndex(targetWord.charAt(i))
+                    ? TileState.MATCH : TileState.PLAIN;
+            g.drawImage(tile(state, letter), left + i * ROW_HEIGHT, top, null);
+        }
+    }
+
+    private static int letterIndex(char c) {
+        char upper = Character.toUpperCase(c);
+        return upper >= 'A' && upper <= 'Z' ? upper - 'A' : BLANK;
+    }
+
+    private BufferedImage tile(TileState state, int letter) {
+        BufferedImage image = tiles[state.ordinal()][letter];
+        if (image == null) {
+            image = renderTile(state, letter);
+            tiles[state.ordinal()][letter] = image;
+        }
+        return image;
+    }
+
+    private BufferedImage renderTile(TileState state, int letter) {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        BufferedImage image = configuration != null
+                ? configuration.createCompatibleImage(TILE_SIZE, TILE_SIZE, Transparency.OPAQUE)
+                : new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(state.background);
+            g.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+            g.setColor(BORDER_COLOR);
+            g.drawRect(0, 0, TILE_SIZE - 1, TILE_SIZE - 1);
+            if (letter != BLANK) {
+                String glyph = String.valueOf((char) ('A' + letter));
+                g.setFont(TILE_FONT);
+                g.setColor(state.foreground);
+                FontMetrics metrics = g.getFontMetrics();
+                int x = (TILE_SIZE - metrics.stringWidth(glyph)) / 2;
+                int y = (TILE_SIZE - metrics.getHeight()) / 2 + metrics.getAscent();
+                g.drawString(glyph, x, y);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // Tiles are rendered for the screen the component is shown on
+        for (BufferedImage[] images : tiles) {
+            Arrays.fill(images, null);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(ROW_WIDTH + 2 * GAP, GAP + rowCount() * ROW_HEIGHT);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(300, 350);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? ROW_HEIGHT : GAP;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL
+                ? Math.max(ROW_HEIGHT, visibleRect.height / ROW_HEIGHT * ROW_HEIGHT)
+                : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() != null && getParent().getHeight() > getPreferredSize().height;
+    }
+}